@@ -3,9 +3,11 @@ package com.sjsu.marketplace.sjsu_marketplace;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.ComponentScan;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @ComponentScan(basePackages = "com.sjsu.marketplace.sjsu_marketplace") // Forces scanning
+@EnableScheduling
 public class SjsuMarketplaceApplication {
     public static void main(String[] args) {
         SpringApplication.run(SjsuMarketplaceApplication.class, args);
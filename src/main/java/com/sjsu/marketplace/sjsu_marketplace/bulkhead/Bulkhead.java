@@ -0,0 +1,101 @@
+package com.sjsu.marketplace.sjsu_marketplace.bulkhead;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+// A concurrency limit with a bounded wait queue for one class of requests, plus a
+// separate limit on how many pooled database connections that class may hold.
+public class Bulkhead {
+
+    private final String name;
+    private final int maxConcurrent;
+    private final int maxQueue;
+    private final long maxWaitMillis;
+    private final int connectionBudget;
+
+    private final Semaphore permits;
+    private final Semaphore connections;
+    private final AtomicInteger active = new AtomicInteger();
+    private final AtomicInteger waiting = new AtomicInteger();
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder queued = new LongAdder();
+    private final LongAdder connectionTimeouts = new LongAdder();
+
+    public Bulkhead(String name, int maxConcurrent, int maxQueue, long maxWaitMillis, int connectionBudget) {
+        this.name = name;
+        this.maxConcurrent = maxConcurrent;
+        this.maxQueue = maxQueue;
+        this.maxWaitMillis = maxWaitMillis;
+        this.connectionBudget = connectionBudget;
+        this.permits = new Semaphore(maxConcurrent, true);
+        this.connections = new Semaphore(connectionBudget, true);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    // Takes a slot, waiting up to maxWaitMillis if the queue has room. A false
+    // return means the request was rejected and exit() must not be called.
+    public boolean tryEnter() throws InterruptedException {
+        if (!permits.tryAcquire()) {
+            if (waiting.incrementAndGet() > maxQueue) {
+                waiting.decrementAndGet();
+                rejected.increment();
+                return false;
+            }
+            queued.increment();
+            boolean acquired;
+            try {
+                acquired = permits.tryAcquire(maxWaitMillis, TimeUnit.MILLISECONDS);
+            } finally {
+                waiting.decrementAndGet();
+            }
+            if (!acquired) {
+                rejected.increment();
+                return false;
+            }
+        }
+        active.incrementAndGet();
+        accepted.increment();
+        return true;
+    }
+
+    public void exit() {
+        active.decrementAndGet();
+        permits.release();
+    }
+
+    public boolean tryAcquireConnection(long timeoutMillis) throws InterruptedException {
+        if (connections.tryAcquire(timeoutMillis, TimeUnit.MILLISECONDS)) {
+            return true;
+        }
+        connectionTimeouts.increment();
+        return false;
+    }
+
+    public void releaseConnection() {
+        connections.release();
+    }
+
+    public Map<String, Object> getMetrics() {
+        Map<String, Object> metrics = new LinkedHashMap<>();
+        metrics.put("maxConcurrent", maxConcurrent);
+        metrics.put("active", active.get());
+        metrics.put("maxQueue", maxQueue);
+        metrics.put("waiting", waiting.get());
+        metrics.put("saturation", maxConcurrent > 0 ? (double) active.get() / maxConcurrent : 1.0);
+        metrics.put("accepted", accepted.sum());
+        metrics.put("queued", queued.sum());
+        metrics.put("rejected", rejected.sum());
+        metrics.put("connectionBudget", connectionBudget);
+        metrics.put("connectionsInUse", connectionBudget - connections.availablePermits());
+        metrics.put("connectionTimeouts", connectionTimeouts.sum());
+        return metrics;
+    }
+}
\ No newline at end of file
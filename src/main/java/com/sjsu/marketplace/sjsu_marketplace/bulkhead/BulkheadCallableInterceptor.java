@@ -0,0 +1,26 @@
+package com.sjsu.marketplace.sjsu_marketplace.bulkhead;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+// Async request work (streamed exports) runs on an MVC executor thread. This makes
+// the request's bulkhead current there too, so its connections count against the
+// request's budget like those taken on the request thread.
+public class BulkheadCallableInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        Object bulkhead = request.getAttribute(BulkheadFilter.BULKHEAD_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (bulkhead instanceof Bulkhead) {
+            BulkheadRegistry.setCurrent((Bulkhead) bulkhead);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        BulkheadRegistry.setCurrent(null);
+    }
+}
@@ -0,0 +1,96 @@
+package com.sjsu.marketplace.sjsu_marketplace.bulkhead;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+
+// Runs ahead of Spring Security so that token checks and logins count against
+// their bulkhead too. Requests that can't get a slot are turned away with 503.
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+public class BulkheadFilter extends OncePerRequestFilter {
+
+    // The request's bulkhead, for async work that runs on another thread
+    static final String BULKHEAD_ATTRIBUTE = BulkheadFilter.class.getName() + ".bulkhead";
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @Value("${bulkhead.retry-after-seconds:1}")
+    private int retryAfterSeconds;
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        Bulkhead bulkhead = bulkheadRegistry.get(bulkheadRegistry.classify(request));
+        boolean entered;
+        try {
+            entered = bulkhead.tryEnter();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            entered = false;
+        }
+        if (!entered) {
+            // Written directly; an error dispatch would go back through security
+            response.setStatus(HttpServletResponse.SC_SERVICE_UNAVAILABLE);
+            response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds));
+            response.setContentType("text/plain");
+            response.getWriter().write("Too many " + bulkhead.getName() + " requests, retry shortly");
+            return;
+        }
+
+        request.setAttribute(BULKHEAD_ATTRIBUTE, bulkhead);
+        BulkheadRegistry.setCurrent(bulkhead);
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            async = request.isAsyncStarted();
+        } finally {
+            BulkheadRegistry.setCurrent(null);
+            if (async) {
+                // A streamed response keeps its slot until the async work is done
+                request.getAsyncContext().addListener(new ExitListener(bulkhead));
+            } else {
+                bulkhead.exit();
+            }
+        }
+    }
+
+    private static class ExitListener implements AsyncListener {
+        private final Bulkhead bulkhead;
+
+        ExitListener(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        // Also called after a timeout or error
+        @Override
+        public void onComplete(AsyncEvent event) {
+            bulkhead.exit();
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,92 @@
+package com.sjsu.marketplace.sjsu_marketplace.bulkhead;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// One bulkhead per route class. Cheap reads get a wide, fail-fast bulkhead;
+// uploads, BCrypt logins, exports and writes get narrow ones, so a burst in one class
+// queues or is rejected there instead of taking threads and connections from reads.
+@Component
+public class BulkheadRegistry {
+
+    public enum RouteClass {
+        UPLOAD,
+        AUTH,
+        EXPORT,
+        WRITE,
+        READ
+    }
+
+    private static final ThreadLocal<Bulkhead> CURRENT = new ThreadLocal<>();
+
+    @Autowired
+    private Environment environment;
+
+    private final Map<RouteClass, Bulkhead> bulkheads = new LinkedHashMap<>();
+
+    @PostConstruct
+    public void init() {
+        bulkheads.put(RouteClass.UPLOAD, create("upload"));
+        bulkheads.put(RouteClass.AUTH, create("auth"));
+        bulkheads.put(RouteClass.EXPORT, create("export"));
+        bulkheads.put(RouteClass.WRITE, create("write"));
+        bulkheads.put(RouteClass.READ, create("read"));
+    }
+
+    public RouteClass classify(HttpServletRequest request) {
+        String path = request.getRequestURI().substring(request.getContextPath().length());
+        String method = request.getMethod();
+        boolean safe = "GET".equals(method) || "HEAD".equals(method) || "OPTIONS".equals(method);
+
+        if (path.startsWith("/api/auth/")) {
+            return RouteClass.AUTH;
+        }
+        if (!safe && (path.startsWith("/api/uploads")
+                || path.equals("/api/listings") || path.equals("/api/listings/import"))) {
+            return RouteClass.UPLOAD;
+        }
+        if (path.startsWith("/api/export")) {
+            return RouteClass.EXPORT;
+        }
+        return safe ? RouteClass.READ : RouteClass.WRITE;
+    }
+
+    public Bulkhead get(RouteClass routeClass) {
+        return bulkheads.get(routeClass);
+    }
+
+    public Map<String, Map<String, Object>> getMetrics() {
+        Map<String, Map<String, Object>> metrics = new LinkedHashMap<>();
+        bulkheads.values().forEach(bulkhead -> metrics.put(bulkhead.getName(), bulkhead.getMetrics()));
+        return metrics;
+    }
+
+    // The bulkhead of the request running on this thread, or null outside a request
+    static Bulkhead current() {
+        return CURRENT.get();
+    }
+
+    static void setCurrent(Bulkhead bulkhead) {
+        if (bulkhead == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(bulkhead);
+        }
+    }
+
+    // Limits live only in application.properties (bulkhead.<name>.*)
+    private Bulkhead create(String name) {
+        String prefix = "bulkhead." + name + ".";
+        return new Bulkhead(name,
+                environment.getRequiredProperty(prefix + "max-concurrent", Integer.class),
+                environment.getRequiredProperty(prefix + "max-queue", Integer.class),
+                environment.getRequiredProperty(prefix + "max-wait-ms", Long.class),
+                environment.getRequiredProperty(prefix + "connections", Integer.class));
+    }
+}
\ No newline at end of file
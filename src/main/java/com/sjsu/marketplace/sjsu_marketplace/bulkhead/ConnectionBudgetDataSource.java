@@ -0,0 +1,140 @@
+package com.sjsu.marketplace.sjsu_marketplace.bulkhead;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTransientConnectionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Caps how many of each bulkhead's requests hold pooled connections at once. A
+// request takes one budget permit with its first connection and gives it back when
+// its last one closes, so a nested REQUIRES_NEW transaction (an after-commit
+// listener, say) never waits on a permit its own request holds. The pool stays
+// shared. Work outside a request (scheduled jobs) is not budgeted here; jobs run
+// one at a time instead. A request or job holds at most two connections, so the
+// non-read budgets are sized to leave connections that only reads can take.
+public class ConnectionBudgetDataSource extends DelegatingDataSource {
+
+    // The permit held by the request running on this thread and its open connections
+    private static final ThreadLocal<Lease> LEASE = new ThreadLocal<>();
+
+    private final long acquireTimeoutMillis;
+
+    public ConnectionBudgetDataSource(DataSource target, long acquireTimeoutMillis) {
+        super(target);
+        this.acquireTimeoutMillis = acquireTimeoutMillis;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Bulkhead bulkhead = BulkheadRegistry.current();
+        if (bulkhead == null) {
+            return super.getConnection();
+        }
+        Lease lease = lease(bulkhead);
+        try {
+            return budgeted(super.getConnection(), lease);
+        } catch (SQLException | RuntimeException e) {
+            lease.release();
+            throw e;
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        Bulkhead bulkhead = BulkheadRegistry.current();
+        if (bulkhead == null) {
+            return super.getConnection(username, password);
+        }
+        Lease lease = lease(bulkhead);
+        try {
+            return budgeted(super.getConnection(username, password), lease);
+        } catch (SQLException | RuntimeException e) {
+            lease.release();
+            throw e;
+        }
+    }
+
+    // Joins the lease this thread already holds, or takes a new permit
+    private Lease lease(Bulkhead bulkhead) throws SQLException {
+        Lease lease = LEASE.get();
+        if (lease != null && lease.bulkhead == bulkhead && lease.open.get() > 0) {
+            lease.open.incrementAndGet();
+            return lease;
+        }
+        acquire(bulkhead);
+        lease = new Lease(bulkhead);
+        LEASE.set(lease);
+        return lease;
+    }
+
+    private void acquire(Bulkhead bulkhead) throws SQLException {
+        try {
+            if (!bulkhead.tryAcquireConnection(acquireTimeoutMillis)) {
+                throw new SQLTransientConnectionException(
+                        "Connection budget for " + bulkhead.getName() + " requests exhausted");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SQLTransientConnectionException("Interrupted waiting for a connection", e);
+        }
+    }
+
+    // Counts the connection against the lease until it is closed (handed back to the pool)
+    private static Connection budgeted(Connection connection, Lease lease) {
+        AtomicBoolean closed = new AtomicBoolean();
+        return (Connection) Proxy.newProxyInstance(
+                ConnectionBudgetDataSource.class.getClassLoader(),
+                new Class<?>[]{Connection.class},
+                (proxy, method, args) -> {
+                    if (method.getName().equals("close")) {
+                        if (closed.compareAndSet(false, true)) {
+                            try {
+                                connection.close();
+                            } finally {
+                                lease.release();
+                            }
+                        }
+                        return null;
+                    }
+                    if (method.getName().equals("isClosed") && closed.get()) {
+                        return true;
+                    }
+                    if (method.getName().equals("equals")) {
+                        return proxy == args[0];
+                    }
+                    if (method.getName().equals("hashCode")) {
+                        return System.identityHashCode(proxy);
+                    }
+                    try {
+                        return method.invoke(connection, args);
+                    } catch (InvocationTargetException e) {
+                        throw e.getTargetException();
+                    }
+                });
+    }
+
+    private static class Lease {
+        private final Bulkhead bulkhead;
+        private final AtomicInteger open = new AtomicInteger(1);
+
+        Lease(Bulkhead bulkhead) {
+            this.bulkhead = bulkhead;
+        }
+
+        // Gives the permit back with the last connection
+        void release() {
+            if (open.decrementAndGet() == 0) {
+                bulkhead.releaseConnection();
+                if (LEASE.get() == this) {
+                    LEASE.remove();
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.sjsu.marketplace.sjsu_marketplace.bulkhead;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+
+// Wraps the application's main DataSource bean in a ConnectionBudgetDataSource
+@Component
+public class ConnectionBudgetPostProcessor implements BeanPostProcessor {
+
+    private final Environment environment;
+
+    // Constructor injection: post-processors are created before field injection is available
+    public ConnectionBudgetPostProcessor(Environment environment) {
+        this.environment = environment;
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if ("dataSource".equals(beanName) && bean instanceof DataSource dataSource
+                && !(bean instanceof ConnectionBudgetDataSource)) {
+            long timeout = environment.getProperty("bulkhead.connection-wait-ms", Long.class, 1000L);
+            return new ConnectionBudgetDataSource(dataSource, timeout);
+        }
+        return bean;
+    }
+}
\ No newline at end of file
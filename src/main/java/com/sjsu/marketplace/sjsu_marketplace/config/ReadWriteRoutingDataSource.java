@@ -0,0 +1,122 @@
+package com.sjsu.marketplace.sjsu_marketplace.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.jdbc.datasource.lookup.AbstractRoutingDataSource;
+import org.springframework.security.authentication.AnonymousAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+// Sends read-only transactions to a healthy replica, round robin, and everything
+// else to the primary. A user who just wrote keeps reading from the primary for a
+// while so they see their own changes despite replica lag. Must sit behind a
+// LazyConnectionDataSourceProxy: the read-only flag is only known once the
+// transaction has started, after the transaction manager asked for a connection.
+public class ReadWriteRoutingDataSource extends AbstractRoutingDataSource implements DisposableBean {
+
+    public static final String PRIMARY = "primary";
+
+    private static final ThreadLocal<Boolean> PRIMARY_READS = new ThreadLocal<>();
+
+    private final Map<String, HikariDataSource> replicas;
+    private final long readYourWritesMillis;
+
+    private final AtomicInteger nextReplica = new AtomicInteger();
+    private final Map<String, Long> pinnedUntil = new ConcurrentHashMap<>();
+    private volatile List<String> healthyReplicas = Collections.emptyList();
+
+    public ReadWriteRoutingDataSource(HikariDataSource primary, Map<String, HikariDataSource> replicas,
+                                      long readYourWritesMillis) {
+        this.replicas = Collections.unmodifiableMap(new LinkedHashMap<>(replicas));
+        this.readYourWritesMillis = readYourWritesMillis;
+
+        Map<Object, Object> targets = new HashMap<>(replicas);
+        targets.put(PRIMARY, primary);
+        setTargetDataSources(targets);
+        setDefaultTargetDataSource(primary);
+    }
+
+    @Override
+    protected Object determineCurrentLookupKey() {
+        String username = currentUsername();
+        long now = System.currentTimeMillis();
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()) {
+            if (username != null) {
+                pinnedUntil.put(username, now + readYourWritesMillis);
+            }
+            return PRIMARY;
+        }
+        if (PRIMARY_READS.get() != null) {
+            return PRIMARY;
+        }
+        if (username != null) {
+            Long until = pinnedUntil.get(username);
+            if (until != null && until > now) {
+                return PRIMARY;
+            }
+        }
+        List<String> healthy = healthyReplicas;
+        if (healthy.isEmpty()) {
+            return PRIMARY;
+        }
+        return healthy.get(Math.floorMod(nextReplica.getAndIncrement(), healthy.size()));
+    }
+
+    // Sends the reads made by work to the primary without pinning the user. For reads
+    // that rebuild a cache or validator after a change has committed: a lagging
+    // replica would hand back the state from before the change, and it would stick.
+    public static <T> T readFromPrimary(Supplier<T> work) {
+        Boolean outer = PRIMARY_READS.get();
+        PRIMARY_READS.set(Boolean.TRUE);
+        try {
+            return work.get();
+        } finally {
+            if (outer == null) {
+                PRIMARY_READS.remove();
+            }
+        }
+    }
+
+    public Map<String, HikariDataSource> getReplicas() {
+        return replicas;
+    }
+
+    public List<String> getHealthyReplicas() {
+        return healthyReplicas;
+    }
+
+    public void setHealthyReplicas(List<String> keys) {
+        healthyReplicas = Collections.unmodifiableList(new ArrayList<>(keys));
+    }
+
+    public void purgeExpiredPins() {
+        long now = System.currentTimeMillis();
+        pinnedUntil.values().removeIf(until -> until <= now);
+    }
+
+    // The primary pool is a bean of its own and is closed by the container
+    @Override
+    public void destroy() {
+        replicas.values().forEach(HikariDataSource::close);
+    }
+
+    private static String currentUsername() {
+        Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+        if (authentication == null || authentication instanceof AnonymousAuthenticationToken
+                || !authentication.isAuthenticated()) {
+            return null;
+        }
+        return authentication.getName();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,84 @@
+package com.sjsu.marketplace.sjsu_marketplace.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+// Takes replicas out of rotation when they stop answering or fall too far behind
+// the primary, and puts them back once they recover. Until the first check every
+// read goes to the primary.
+@Component
+@ConditionalOnProperty(name = "datasource.replicas.enabled", havingValue = "true")
+public class ReplicaHealthMonitor {
+    private static final Logger logger = LoggerFactory.getLogger(ReplicaHealthMonitor.class);
+
+    @Autowired
+    private ReadWriteRoutingDataSource routingDataSource;
+
+    @Value("${datasource.replicas.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    @Scheduled(fixedDelayString = "${datasource.replicas.health-check-ms:5000}")
+    public void checkReplicas() {
+        List<String> previouslyHealthy = routingDataSource.getHealthyReplicas();
+        List<String> healthy = new ArrayList<>();
+        for (Map.Entry<String, HikariDataSource> replica : routingDataSource.getReplicas().entrySet()) {
+            String key = replica.getKey();
+            try (Connection connection = replica.getValue().getConnection()) {
+                Long lag = replicationLagSeconds(connection);
+                if (lag != null && lag <= maxLagSeconds) {
+                    healthy.add(key);
+                } else if (previouslyHealthy.contains(key)) {
+                    logger.warn("Replica {} removed from rotation: lag {}s", key, lag != null ? lag : "unknown");
+                }
+            } catch (SQLException e) {
+                if (previouslyHealthy.contains(key)) {
+                    logger.warn("Replica {} removed from rotation: {}", key, e.getMessage());
+                }
+            }
+        }
+        for (String key : healthy) {
+            if (!previouslyHealthy.contains(key)) {
+                logger.info("Replica {} is in rotation", key);
+            }
+        }
+        routingDataSource.setHealthyReplicas(healthy);
+        routingDataSource.purgeExpiredPins();
+    }
+
+    // Seconds_Behind_Source, or null when replication is broken. A server that
+    // reports no replication status at all (a plain second instance standing in
+    // for a replica locally) counts as caught up.
+    private Long replicationLagSeconds(Connection connection) throws SQLException {
+        try {
+            return readLag(connection, "SHOW REPLICA STATUS", "Seconds_Behind_Source");
+        } catch (SQLException e) {
+            // MySQL before 8.0.22
+            return readLag(connection, "SHOW SLAVE STATUS", "Seconds_Behind_Master");
+        }
+    }
+
+    private Long readLag(Connection connection, String sql, String column) throws SQLException {
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery(sql)) {
+            if (!rs.next()) {
+                return 0L;
+            }
+            long lag = rs.getLong(column);
+            return rs.wasNull() ? null : lag;
+        }
+    }
+}
\ No newline at end of file
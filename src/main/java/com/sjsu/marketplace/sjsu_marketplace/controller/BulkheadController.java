@@ -0,0 +1,23 @@
+package com.sjsu.marketplace.sjsu_marketplace.controller;
+
+import com.sjsu.marketplace.sjsu_marketplace.bulkhead.BulkheadRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.Map;
+
+@RestController
+@RequestMapping("/api/bulkheads")
+public class BulkheadController {
+
+    @Autowired
+    private BulkheadRegistry bulkheadRegistry;
+
+    @GetMapping
+    public ResponseEntity<Map<String, Map<String, Object>>> getMetrics() {
+        return ResponseEntity.ok(bulkheadRegistry.getMetrics());
+    }
+}
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.sjsu.marketplace.sjsu_marketplace.controller;
+
+import com.sjsu.marketplace.sjsu_marketplace.model.User;
+import com.sjsu.marketplace.sjsu_marketplace.service.DataExportService;
+import com.sjsu.marketplace.sjsu_marketplace.service.UserService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+@RestController
+@RequestMapping("/api/export")
+public class ExportController {
+
+    @Autowired
+    private DataExportService dataExportService;
+
+    @Autowired
+    private UserService userService;
+
+    // Streams the caller's data; add includeImages=true for a zip with the image files
+    @GetMapping
+    public ResponseEntity<StreamingResponseBody> exportData(
+            @RequestParam(defaultValue = "false") boolean includeImages,
+            Authentication authentication) {
+        User user = userService.getUserByUsername(authentication.getName());
+        String filename = "sjsu-marketplace-" + user.getUsername() + (includeImages ? ".zip" : ".ndjson");
+        StreamingResponseBody body = includeImages
+                ? out -> dataExportService.writeZip(user, out)
+                : out -> dataExportService.writeNdjson(user, out);
+
+        return ResponseEntity.ok()
+                .contentType(includeImages
+                        ? MediaType.parseMediaType("application/zip")
+                        : MediaType.parseMediaType("application/x-ndjson"))
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        ContentDisposition.attachment().filename(filename).build().toString())
+                .body(body);
+    }
+}
\ No newline at end of file
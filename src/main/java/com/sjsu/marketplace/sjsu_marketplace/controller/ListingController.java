@@ -3,64 +3,194 @@ package com.sjsu.marketplace.sjsu_marketplace.controller;
 import com.sjsu.marketplace.sjsu_marketplace.model.Listing;
 import com.sjsu.marketplace.sjsu_marketplace.model.ListingStatus;
 import com.sjsu.marketplace.sjsu_marketplace.model.User;
+import com.sjsu.marketplace.sjsu_marketplace.service.CatalogVersionService;
+import com.sjsu.marketplace.sjsu_marketplace.service.HotFeedService;
+import com.sjsu.marketplace.sjsu_marketplace.service.ListingChangeLogService;
+import com.sjsu.marketplace.sjsu_marketplace.service.ListingFacetService;
+import com.sjsu.marketplace.sjsu_marketplace.service.ListingImportService;
 import com.sjsu.marketplace.sjsu_marketplace.service.ListingService;
+import com.sjsu.marketplace.sjsu_marketplace.service.ListingSimilarityService;
+import com.sjsu.marketplace.sjsu_marketplace.service.ListingViewService;
+import com.sjsu.marketplace.sjsu_marketplace.service.PriceStatsService;
+import com.sjsu.marketplace.sjsu_marketplace.service.TrendingService;
+import com.sjsu.marketplace.sjsu_marketplace.service.UploadSessionService;
 import com.sjsu.marketplace.sjsu_marketplace.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.ServletWebRequest;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 @RestController
 @RequestMapping("/api/listings")
 public class ListingController {
 
+    // Clients may keep a copy but must revalidate it with If-None-Match on every use
+    private static final CacheControl REVALIDATE = CacheControl.noCache().cachePrivate();
+
     @Autowired
     private ListingService listingService;
 
     @Autowired
     private UserService userService;
 
+    @Autowired
+    private ListingFacetService listingFacetService;
+
+    @Autowired
+    private PriceStatsService priceStatsService;
+
+    @Autowired
+    private ListingSimilarityService listingSimilarityService;
+
+    @Autowired
+    private ListingViewService listingViewService;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private CatalogVersionService catalogVersionService;
+
+    @Autowired
+    private HotFeedService hotFeedService;
+
+    @Autowired
+    private ListingChangeLogService listingChangeLogService;
+
+    @Autowired
+    private UploadSessionService uploadSessionService;
+
+    @Autowired
+    private ListingImportService listingImportService;
+
     @PostMapping
     public ResponseEntity<Listing> createListing(
             @Valid @RequestPart("listing") Listing listing,
+            @RequestPart(value = "uploadIds", required = false) List<String> uploadIds,
             @RequestPart(value = "images", required = false) List<MultipartFile> images,
             Authentication authentication) throws IOException {
         User seller = userService.getUserByUsername(authentication.getName());
-        return ResponseEntity.ok(listingService.createListing(listing, seller, images));
+        List<String> imageUploadIds = new ArrayList<>();
+        if (uploadIds != null) {
+            imageUploadIds.addAll(uploadIds);
+        }
+        // Legacy multipart images are stored before the listing transaction starts
+        if (images != null) {
+            for (MultipartFile image : images) {
+                imageUploadIds.add(uploadSessionService.storeMultipart(image, seller).getId());
+            }
+        }
+        return ResponseEntity.ok(listingService.createListing(listing, seller, imageUploadIds));
+    }
+
+    // Bulk import; the request body is streamed and parsed row by row
+    @PostMapping(value = "/import", consumes = "text/csv")
+    public ResponseEntity<Map<String, Object>> importCsv(
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        User seller = userService.getUserByUsername(authentication.getName());
+        return ResponseEntity.ok(listingImportService.importCsv(request.getInputStream(), seller));
+    }
+
+    @PostMapping(value = "/import", consumes = "application/x-ndjson")
+    public ResponseEntity<Map<String, Object>> importNdjson(
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        User seller = userService.getUserByUsername(authentication.getName());
+        return ResponseEntity.ok(listingImportService.importNdjson(request.getInputStream(), seller));
     }
 
     @GetMapping
-    public ResponseEntity<Page<Listing>> getAllListings(Pageable pageable) {
-        return ResponseEntity.ok(listingService.getAllListings(pageable));
+    public ResponseEntity<Page<Listing>> getAllListings(
+            @PageableDefault(sort = "createdAt", direction = Sort.Direction.DESC) Pageable pageable,
+            ServletWebRequest request) {
+        String etag = catalogVersionService.getFeedEtag();
+        if (notModified(request, etag)) {
+            return null;
+        }
+        // The first pages are served from memory; deeper pages go to the repository
+        Page<Listing> page = hotFeedService.getPage(pageable);
+        if (page == null) {
+            page = listingService.getAllListings(pageable);
+        }
+        return revalidated(etag, page);
     }
 
     @GetMapping("/search")
     public ResponseEntity<Page<Listing>> searchListings(
             @RequestParam String keyword,
-            Pageable pageable) {
-        return ResponseEntity.ok(listingService.searchListings(keyword, pageable));
+            Pageable pageable,
+            ServletWebRequest request) {
+        String etag = catalogVersionService.getFeedEtag();
+        if (notModified(request, etag)) {
+            return null;
+        }
+        return revalidated(etag, listingService.searchListings(keyword, pageable));
     }
 
     @GetMapping("/category/{category}")
     public ResponseEntity<Page<Listing>> getListingsByCategory(
             @PathVariable String category,
-            Pageable pageable) {
-        return ResponseEntity.ok(listingService.getListingsByCategory(category, pageable));
+            Pageable pageable,
+            ServletWebRequest request) {
+        String etag = catalogVersionService.getFeedEtag();
+        if (notModified(request, etag)) {
+            return null;
+        }
+        return revalidated(etag, listingService.getListingsByCategory(category, pageable));
     }
 
     @GetMapping("/price-range")
     public ResponseEntity<Page<Listing>> getListingsByPriceRange(
             @RequestParam Double minPrice,
             @RequestParam Double maxPrice,
-            Pageable pageable) {
-        return ResponseEntity.ok(listingService.getListingsByPriceRange(minPrice, maxPrice, pageable));
+            Pageable pageable,
+            ServletWebRequest request) {
+        String etag = catalogVersionService.getFeedEtag();
+        if (notModified(request, etag)) {
+            return null;
+        }
+        return revalidated(etag, listingService.getListingsByPriceRange(minPrice, maxPrice, pageable));
+    }
+
+    @GetMapping("/facets")
+    public ResponseEntity<Map<String, Map<String, Long>>> getFacets() {
+        return ResponseEntity.ok(listingFacetService.getFacets());
+    }
+
+    @GetMapping("/price-stats")
+    public ResponseEntity<Map<String, Object>> getPriceStats(@RequestParam String category) {
+        return ResponseEntity.ok(priceStatsService.getPriceStats(category));
+    }
+
+    @GetMapping("/trending")
+    public ResponseEntity<List<Listing>> getTrendingListings(
+            @RequestParam(required = false) String category,
+            @RequestParam(defaultValue = "20") int limit) {
+        List<Long> trendingIds = trendingService.getTrending(category, Math.max(1, limit));
+        return ResponseEntity.ok(listingService.getListingsInOrder(trendingIds));
+    }
+
+    @GetMapping("/changes")
+    public ResponseEntity<Map<String, Object>> getChanges(
+            @RequestParam(defaultValue = "0") long since,
+            @RequestParam(defaultValue = "500") int limit) {
+        return ResponseEntity.ok(listingChangeLogService.getChangesSince(since, limit));
     }
 
     @GetMapping("/user")
@@ -72,8 +202,29 @@ public class ListingController {
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<Listing> getListing(@PathVariable Long id) {
-        return ResponseEntity.ok(listingService.getListing(id));
+    public ResponseEntity<Listing> getListing(@PathVariable Long id, ServletWebRequest request) {
+        String etag = catalogVersionService.getListingEtag(id);
+        if (etag != null && notModified(request, etag)) {
+            // Still a page view, just served from the client's cache
+            listingViewService.recordView(id);
+            return null;
+        }
+        Listing listing = listingService.getListing(id);
+        listingViewService.recordView(listing);
+        return revalidated(catalogVersionService.getListingEtag(listing), listing);
+    }
+
+    @GetMapping("/{id}/views")
+    public ResponseEntity<Long> getViewCount(@PathVariable Long id) {
+        return ResponseEntity.ok(listingViewService.getViewCount(id));
+    }
+
+    @GetMapping("/{id}/similar")
+    public ResponseEntity<List<Listing>> getSimilarListings(
+            @PathVariable Long id,
+            @RequestParam(defaultValue = "10") int limit) {
+        List<Long> similarIds = listingSimilarityService.findSimilar(id, Math.max(1, limit));
+        return ResponseEntity.ok(listingService.getListingsInOrder(similarIds));
     }
 
     @PutMapping("/{id}/status")
@@ -88,4 +239,35 @@ public class ListingController {
         listingService.deleteListing(id);
         return ResponseEntity.ok().build();
     }
-} 
\ No newline at end of file
+
+    @PostMapping("/bulk-delete")
+    public ResponseEntity<Integer> deleteListings(
+            @RequestBody List<Long> ids,
+            Authentication authentication) {
+        User seller = userService.getUserByUsername(authentication.getName());
+        return ResponseEntity.ok(listingService.deleteListings(ids, seller));
+    }
+
+    // Answers 304 when If-None-Match matches, before any query or serialization.
+    // A null tag means the response must not be cached. The body is JSON or CBOR by
+    // Accept, and both share a tag, so caches must keep them apart by Accept.
+    private boolean notModified(ServletWebRequest request, String etag) {
+        if (etag != null && request.checkNotModified(etag)) {
+            request.getResponse().setHeader(HttpHeaders.CACHE_CONTROL, REVALIDATE.getHeaderValue());
+            request.getResponse().addHeader(HttpHeaders.VARY, HttpHeaders.ACCEPT);
+            return true;
+        }
+        return false;
+    }
+
+    private <T> ResponseEntity<T> revalidated(String etag, T body) {
+        if (etag == null) {
+            return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(body);
+        }
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(REVALIDATE)
+                .varyBy(HttpHeaders.ACCEPT)
+                .body(body);
+    }
+}
\ No newline at end of file
@@ -1,7 +1,9 @@
 package com.sjsu.marketplace.sjsu_marketplace.controller;
 
+import com.sjsu.marketplace.sjsu_marketplace.model.ArchivedMessage;
 import com.sjsu.marketplace.sjsu_marketplace.model.Message;
 import com.sjsu.marketplace.sjsu_marketplace.model.User;
+import com.sjsu.marketplace.sjsu_marketplace.service.MessageArchiveService;
 import com.sjsu.marketplace.sjsu_marketplace.service.MessageService;
 import com.sjsu.marketplace.sjsu_marketplace.service.UserService;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,6 +23,9 @@ public class MessageController {
     @Autowired
     private MessageService messageService;
 
+    @Autowired
+    private MessageArchiveService messageArchiveService;
+
     @Autowired
     private UserService userService;
 
@@ -59,6 +64,19 @@ public class MessageController {
         return ResponseEntity.ok(messageService.getConversation(currentUser, otherUser));
     }
 
+    // Older messages moved to cold storage, newest first; page back with beforeId
+    @GetMapping("/conversation/{userId}/archive")
+    public ResponseEntity<List<ArchivedMessage>> getArchivedConversation(
+            @PathVariable Long userId,
+            @RequestParam(required = false) Long beforeId,
+            @RequestParam(defaultValue = "50") int limit,
+            Authentication authentication) {
+        User currentUser = userService.getUserByUsername(authentication.getName());
+        User otherUser = userService.getUserById(userId);
+        return ResponseEntity.ok(messageArchiveService.getConversation(
+                currentUser.getId(), otherUser.getId(), beforeId, Math.max(1, Math.min(limit, 200))));
+    }
+
     @PutMapping("/{messageId}/read")
     public ResponseEntity<Void> markMessageAsRead(@PathVariable Long messageId) {
         messageService.markMessageAsRead(messageId);
@@ -0,0 +1,73 @@
+package com.sjsu.marketplace.sjsu_marketplace.controller;
+
+import com.sjsu.marketplace.sjsu_marketplace.model.SavedSearch;
+import com.sjsu.marketplace.sjsu_marketplace.model.SavedSearchMatch;
+import com.sjsu.marketplace.sjsu_marketplace.model.User;
+import com.sjsu.marketplace.sjsu_marketplace.service.SavedSearchService;
+import com.sjsu.marketplace.sjsu_marketplace.service.UserService;
+import jakarta.validation.Valid;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/saved-searches")
+public class SavedSearchController {
+
+    @Autowired
+    private SavedSearchService savedSearchService;
+
+    @Autowired
+    private UserService userService;
+
+    @PostMapping
+    public ResponseEntity<SavedSearch> createSavedSearch(
+            @Valid @RequestBody SavedSearch savedSearch,
+            Authentication authentication) {
+        User user = userService.getUserByUsername(authentication.getName());
+        return ResponseEntity.ok(savedSearchService.createSavedSearch(savedSearch, user));
+    }
+
+    @GetMapping
+    public ResponseEntity<List<SavedSearch>> getSavedSearches(Authentication authentication) {
+        User user = userService.getUserByUsername(authentication.getName());
+        return ResponseEntity.ok(savedSearchService.getSavedSearches(user));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> deleteSavedSearch(
+            @PathVariable Long id,
+            Authentication authentication) {
+        User user = userService.getUserByUsername(authentication.getName());
+        savedSearchService.deleteSavedSearch(id, user);
+        return ResponseEntity.ok().build();
+    }
+
+    @GetMapping("/matches")
+    public ResponseEntity<Page<SavedSearchMatch>> getMatches(
+            Authentication authentication,
+            Pageable pageable) {
+        User user = userService.getUserByUsername(authentication.getName());
+        return ResponseEntity.ok(savedSearchService.getMatches(user, pageable));
+    }
+
+    @GetMapping("/matches/unseen/count")
+    public ResponseEntity<Long> getUnseenMatchCount(Authentication authentication) {
+        User user = userService.getUserByUsername(authentication.getName());
+        return ResponseEntity.ok(savedSearchService.getUnseenMatchCount(user));
+    }
+
+    @PutMapping("/matches/{matchId}/seen")
+    public ResponseEntity<Void> markMatchAsSeen(
+            @PathVariable Long matchId,
+            Authentication authentication) {
+        User user = userService.getUserByUsername(authentication.getName());
+        savedSearchService.markMatchAsSeen(matchId, user);
+        return ResponseEntity.ok().build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.sjsu.marketplace.sjsu_marketplace.controller;
+
+import com.sjsu.marketplace.sjsu_marketplace.model.UploadSession;
+import com.sjsu.marketplace.sjsu_marketplace.model.User;
+import com.sjsu.marketplace.sjsu_marketplace.service.UploadSessionService;
+import com.sjsu.marketplace.sjsu_marketplace.service.UserService;
+import jakarta.servlet.http.HttpServletRequest;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.Authentication;
+import org.springframework.web.bind.annotation.*;
+
+import java.io.IOException;
+
+@RestController
+@RequestMapping("/api/uploads")
+public class UploadController {
+
+    @Autowired
+    private UploadSessionService uploadSessionService;
+
+    @Autowired
+    private UserService userService;
+
+    @PostMapping
+    public ResponseEntity<UploadSession> createSession(
+            @RequestParam String filename,
+            @RequestParam long size,
+            @RequestParam(required = false) String contentType,
+            Authentication authentication) {
+        User user = userService.getUserByUsername(authentication.getName());
+        return ResponseEntity.ok(uploadSessionService.createSession(filename, contentType, size, user));
+    }
+
+    @GetMapping("/{id}")
+    public ResponseEntity<UploadSession> getSession(
+            @PathVariable String id,
+            Authentication authentication) {
+        User user = userService.getUserByUsername(authentication.getName());
+        return ResponseEntity.ok(uploadSessionService.getSession(id, user));
+    }
+
+    // The raw request body is the chunk; it is streamed to disk, never buffered whole
+    @PutMapping("/{id}")
+    public ResponseEntity<UploadSession> uploadChunk(
+            @PathVariable String id,
+            @RequestParam long offset,
+            HttpServletRequest request,
+            Authentication authentication) throws IOException {
+        User user = userService.getUserByUsername(authentication.getName());
+        return ResponseEntity.ok(uploadSessionService.appendChunk(id, offset, request.getInputStream(), user));
+    }
+
+    @PostMapping("/{id}/finalize")
+    public ResponseEntity<UploadSession> finalizeSession(
+            @PathVariable String id,
+            Authentication authentication) throws IOException {
+        User user = userService.getUserByUsername(authentication.getName());
+        return ResponseEntity.ok(uploadSessionService.finalizeSession(id, user));
+    }
+
+    @DeleteMapping("/{id}")
+    public ResponseEntity<Void> abortSession(
+            @PathVariable String id,
+            Authentication authentication) throws IOException {
+        User user = userService.getUserByUsername(authentication.getName());
+        uploadSessionService.abortSession(id, user);
+        return ResponseEntity.ok().build();
+    }
+}
\ No newline at end of file
@@ -0,0 +1,11 @@
+package com.sjsu.marketplace.sjsu_marketplace.event;
+
+import lombok.Data;
+
+import java.util.List;
+
+// Image URLs that deleted listings no longer reference
+@Data
+public class ImageFilesReleasedEvent {
+    private final List<String> imageUrls;
+}
\ No newline at end of file
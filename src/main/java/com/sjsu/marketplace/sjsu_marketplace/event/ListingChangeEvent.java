@@ -0,0 +1,40 @@
+package com.sjsu.marketplace.sjsu_marketplace.event;
+
+import com.sjsu.marketplace.sjsu_marketplace.model.Listing;
+import com.sjsu.marketplace.sjsu_marketplace.model.ListingStatus;
+import lombok.Data;
+
+@Data
+public class ListingChangeEvent {
+
+    public enum Type {
+        CREATED,
+        STATUS_CHANGED,
+        DELETED
+    }
+
+    private final Type type;
+    private final Listing listing;
+
+    // Status before the change; null for CREATED
+    private final ListingStatus previousStatus;
+
+    // Set by bulk imports, which write their change log rows with the insert batch
+    private final boolean changeLogged;
+
+    public static ListingChangeEvent created(Listing listing) {
+        return new ListingChangeEvent(Type.CREATED, listing, null, false);
+    }
+
+    public static ListingChangeEvent imported(Listing listing) {
+        return new ListingChangeEvent(Type.CREATED, listing, null, true);
+    }
+
+    public static ListingChangeEvent statusChanged(Listing listing, ListingStatus previousStatus) {
+        return new ListingChangeEvent(Type.STATUS_CHANGED, listing, previousStatus, false);
+    }
+
+    public static ListingChangeEvent deleted(Listing listing) {
+        return new ListingChangeEvent(Type.DELETED, listing, listing.getStatus(), false);
+    }
+}
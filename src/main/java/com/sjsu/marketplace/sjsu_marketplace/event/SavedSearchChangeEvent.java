@@ -0,0 +1,19 @@
+package com.sjsu.marketplace.sjsu_marketplace.event;
+
+import com.sjsu.marketplace.sjsu_marketplace.model.SavedSearch;
+import lombok.Data;
+
+// A saved search was created or deleted; the matcher index follows once it commits
+@Data
+public class SavedSearchChangeEvent {
+    private final SavedSearch savedSearch;
+    private final boolean deleted;
+
+    public static SavedSearchChangeEvent created(SavedSearch savedSearch) {
+        return new SavedSearchChangeEvent(savedSearch, false);
+    }
+
+    public static SavedSearchChangeEvent deleted(SavedSearch savedSearch) {
+        return new SavedSearchChangeEvent(savedSearch, true);
+    }
+}
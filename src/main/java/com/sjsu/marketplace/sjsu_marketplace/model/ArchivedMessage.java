@@ -0,0 +1,17 @@
+package com.sjsu.marketplace.sjsu_marketplace.model;
+
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// A message read back from the cold-storage archive; not a JPA entity
+@Data
+public class ArchivedMessage {
+    private Long id;
+    private Long senderId;
+    private Long receiverId;
+    private Long listingId;
+    private String content;
+    private boolean isRead;
+    private LocalDateTime createdAt;
+}
\ No newline at end of file
@@ -0,0 +1,32 @@
+package com.sjsu.marketplace.sjsu_marketplace.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Append-only change log for delta sync. listingId is a plain column rather than a
+// foreign key so DELETED tombstones outlive the listing row.
+@Data
+@Entity
+@Table(name = "listing_changes", indexes = @Index(name = "idx_listing_changes_listing", columnList = "listing_id"))
+public class ListingChange {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotNull
+    private Long listingId;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private ListingChangeType changeType;
+
+    private LocalDateTime changedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        changedAt = LocalDateTime.now();
+    }
+}
\ No newline at end of file
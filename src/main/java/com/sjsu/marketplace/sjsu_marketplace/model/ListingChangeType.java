@@ -0,0 +1,7 @@
+package com.sjsu.marketplace.sjsu_marketplace.model;
+
+public enum ListingChangeType {
+    CREATED,
+    UPDATED,
+    DELETED
+}
\ No newline at end of file
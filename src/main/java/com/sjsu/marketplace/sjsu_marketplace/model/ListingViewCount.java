@@ -0,0 +1,22 @@
+package com.sjsu.marketplace.sjsu_marketplace.model;
+
+import jakarta.persistence.*;
+import lombok.Data;
+
+import java.time.LocalDateTime;
+
+// Written with batched upserts by ListingViewService rather than through JPA
+@Data
+@Entity
+@Table(name = "listing_views")
+public class ListingViewCount {
+    @Id
+    @Column(name = "listing_id")
+    private Long listingId;
+
+    @Column(name = "view_count", nullable = false)
+    private long viewCount;
+
+    @Column(name = "updated_at")
+    private LocalDateTime updatedAt;
+}
\ No newline at end of file
@@ -0,0 +1,6 @@
+package com.sjsu.marketplace.sjsu_marketplace.model;
+
+public enum PriceSketchKind {
+    ASKING,
+    SOLD
+}
\ No newline at end of file
@@ -0,0 +1,41 @@
+package com.sjsu.marketplace.sjsu_marketplace.model;
+
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotNull;
+import lombok.Data;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "price_sketch_snapshots",
+        uniqueConstraints = @UniqueConstraint(columnNames = {"category", "kind"}))
+public class PriceSketchSnapshot {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @NotBlank
+    private String category;
+
+    @NotNull
+    @Enumerated(EnumType.STRING)
+    private PriceSketchKind kind;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "BLOB")
+    private byte[] data;
+
+    private long itemCount;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
\ No newline at end of file
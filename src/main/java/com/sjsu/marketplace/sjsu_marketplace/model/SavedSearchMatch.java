@@ -0,0 +1,55 @@
+package com.sjsu.marketplace.sjsu_marketplace.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.OnDelete;
+import org.hibernate.annotations.OnDeleteAction;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "saved_search_matches")
+public class SavedSearchMatch {
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "saved_search_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private SavedSearch savedSearch;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "listing_id", nullable = false)
+    @OnDelete(action = OnDeleteAction.CASCADE)
+    private Listing listing;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @Column(name = "match_seen")
+    private boolean isSeen = false;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+    }
+
+    public Long getSavedSearchId() {
+        return savedSearch != null ? savedSearch.getId() : null;
+    }
+
+    public Long getListingId() {
+        return listing != null ? listing.getId() : null;
+    }
+}
\ No newline at end of file
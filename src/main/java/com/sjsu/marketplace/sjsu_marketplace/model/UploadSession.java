@@ -0,0 +1,58 @@
+package com.sjsu.marketplace.sjsu_marketplace.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import jakarta.persistence.*;
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.Positive;
+import lombok.Data;
+import org.hibernate.annotations.CreationTimestamp;
+import org.hibernate.annotations.UpdateTimestamp;
+
+import java.time.LocalDateTime;
+
+@Data
+@Entity
+@Table(name = "upload_sessions")
+public class UploadSession {
+    // Random UUID so upload ids can't be guessed
+    @Id
+    @Column(length = 36)
+    private String id;
+
+    @NotBlank
+    private String originalFilename;
+
+    private String contentType;
+
+    @Positive
+    private long totalSize;
+
+    private long receivedBytes;
+
+    @Enumerated(EnumType.STRING)
+    private UploadStatus status = UploadStatus.OPEN;
+
+    private String imageUrl;
+
+    @JsonIgnore
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "user_id", nullable = false)
+    private User user;
+
+    @CreationTimestamp
+    private LocalDateTime createdAt;
+
+    @UpdateTimestamp
+    private LocalDateTime updatedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        createdAt = LocalDateTime.now();
+        updatedAt = LocalDateTime.now();
+    }
+
+    @PreUpdate
+    protected void onUpdate() {
+        updatedAt = LocalDateTime.now();
+    }
+}
\ No newline at end of file
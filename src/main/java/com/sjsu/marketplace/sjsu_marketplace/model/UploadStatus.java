@@ -0,0 +1,7 @@
+package com.sjsu.marketplace.sjsu_marketplace.model;
+
+public enum UploadStatus {
+    OPEN,
+    FINALIZED,
+    ATTACHED
+}
\ No newline at end of file
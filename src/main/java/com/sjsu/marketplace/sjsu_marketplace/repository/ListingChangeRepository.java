@@ -0,0 +1,40 @@
+package com.sjsu.marketplace.sjsu_marketplace.repository;
+
+import com.sjsu.marketplace.sjsu_marketplace.model.ListingChange;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface ListingChangeRepository extends JpaRepository<ListingChange, Long> {
+    List<ListingChange> findByIdGreaterThanOrderByIdAsc(
+            Long id,
+            Pageable pageable
+    );
+
+    @Query("SELECT MIN(c.id) FROM ListingChange c")
+    Long findMinId();
+
+    @Query("SELECT MAX(c.id) FROM ListingChange c")
+    Long findMaxId();
+
+    @Query("SELECT MAX(c.id) FROM ListingChange c WHERE c.changedAt < :cutoff")
+    Long findMaxIdBefore(LocalDateTime cutoff);
+
+    @Modifying
+    @Query("DELETE FROM ListingChange c WHERE c.id <= :maxId")
+    int deleteUpTo(Long maxId);
+
+    // Drops entries that a later entry for the same listing supersedes
+    @Modifying
+    @Query(value = "DELETE c FROM listing_changes c " +
+                   "JOIN listing_changes n ON n.listing_id = c.listing_id AND n.id > c.id " +
+                   "WHERE n.changed_at < :settledBefore",
+           nativeQuery = true)
+    int deleteSuperseded(LocalDateTime settledBefore);
+}
\ No newline at end of file
@@ -6,10 +6,16 @@ import com.sjsu.marketplace.sjsu_marketplace.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface ListingRepository extends JpaRepository<Listing, Long> {
@@ -31,4 +37,39 @@ public interface ListingRepository extends JpaRepository<Listing, Long> {
             ListingStatus status,
             Pageable pageable
     );
-} 
\ No newline at end of file
+
+    @Query("SELECT l.status, COUNT(l) FROM Listing l GROUP BY l.status")
+    List<Object[]> countGroupedByStatus();
+
+    @Query("SELECT l.category, COUNT(l) FROM Listing l WHERE l.status = :status GROUP BY l.category")
+    List<Object[]> countGroupedByCategory(ListingStatus status);
+
+    long countByStatusAndPriceGreaterThanEqualAndPriceLessThan(ListingStatus status, BigDecimal min, BigDecimal max);
+
+    long countByStatusAndPriceGreaterThanEqual(ListingStatus status, BigDecimal min);
+
+    @Query("SELECT l.category, l.price, l.status FROM Listing l")
+    Stream<Object[]> streamCategoryPrices();
+
+    @Query("SELECT l.id, l.title, l.description, l.category, l.price FROM Listing l WHERE l.status = :status")
+    Stream<Object[]> streamSimilarityFields(ListingStatus status);
+
+    @Query("SELECT l.updatedAt FROM Listing l WHERE l.id = :id")
+    Optional<LocalDateTime> findUpdatedAtById(Long id);
+
+    List<Listing> findBySellerAndIdIn(User seller, Collection<Long> ids);
+
+    @Query("SELECT i.imageUrl FROM ListingImage i WHERE i.listing.id IN :listingIds")
+    List<String> findImageUrlsByListingIds(Collection<Long> listingIds);
+
+    @Query("SELECT i.imageUrl FROM ListingImage i WHERE i.imageUrl IN :imageUrls")
+    List<String> findReferencedImageUrls(Collection<String> imageUrls);
+
+    @Modifying
+    @Query("DELETE FROM ListingImage i WHERE i.listing.id IN :listingIds")
+    int deleteImagesByListingIds(Collection<Long> listingIds);
+
+    @Modifying
+    @Query("DELETE FROM Listing l WHERE l.id IN :listingIds")
+    int deleteAllByIds(Collection<Long> listingIds);
+}
\ No newline at end of file
@@ -0,0 +1,9 @@
+package com.sjsu.marketplace.sjsu_marketplace.repository;
+
+import com.sjsu.marketplace.sjsu_marketplace.model.ListingViewCount;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ListingViewCountRepository extends JpaRepository<ListingViewCount, Long> {
+}
\ No newline at end of file
@@ -5,9 +5,11 @@ import com.sjsu.marketplace.sjsu_marketplace.model.User;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -26,4 +28,9 @@ public interface MessageRepository extends JpaRepository<Message, Long> {
     @Query("SELECT COUNT(m) FROM Message m WHERE " +
            "m.receiver = :user AND m.isRead = false")
     long countUnreadMessages(User user);
+
+    // Keeps the conversation when the listing it was about goes away
+    @Modifying
+    @Query("UPDATE Message m SET m.listing = null WHERE m.listing.id IN :listingIds")
+    int detachFromListings(Collection<Long> listingIds);
 } 
\ No newline at end of file
@@ -0,0 +1,13 @@
+package com.sjsu.marketplace.sjsu_marketplace.repository;
+
+import com.sjsu.marketplace.sjsu_marketplace.model.PriceSketchKind;
+import com.sjsu.marketplace.sjsu_marketplace.model.PriceSketchSnapshot;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface PriceSketchSnapshotRepository extends JpaRepository<PriceSketchSnapshot, Long> {
+    Optional<PriceSketchSnapshot> findByCategoryAndKind(String category, PriceSketchKind kind);
+}
\ No newline at end of file
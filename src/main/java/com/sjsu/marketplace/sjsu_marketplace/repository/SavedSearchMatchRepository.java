@@ -0,0 +1,17 @@
+package com.sjsu.marketplace.sjsu_marketplace.repository;
+
+import com.sjsu.marketplace.sjsu_marketplace.model.SavedSearchMatch;
+import com.sjsu.marketplace.sjsu_marketplace.model.User;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+import java.util.Optional;
+
+@Repository
+public interface SavedSearchMatchRepository extends JpaRepository<SavedSearchMatch, Long> {
+    Page<SavedSearchMatch> findByUserOrderByCreatedAtDesc(User user, Pageable pageable);
+    Optional<SavedSearchMatch> findByIdAndUser(Long id, User user);
+    long countByUserAndIsSeenFalse(User user);
+}
\ No newline at end of file
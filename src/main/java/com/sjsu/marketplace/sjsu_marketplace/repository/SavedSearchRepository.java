@@ -0,0 +1,21 @@
+package com.sjsu.marketplace.sjsu_marketplace.repository;
+
+import com.sjsu.marketplace.sjsu_marketplace.model.SavedSearch;
+import com.sjsu.marketplace.sjsu_marketplace.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+@Repository
+public interface SavedSearchRepository extends JpaRepository<SavedSearch, Long> {
+    List<SavedSearch> findByUserOrderByCreatedAtDesc(User user);
+    Optional<SavedSearch> findByIdAndUser(Long id, User user);
+    long countByUser(User user);
+
+    @Query("SELECT s.id, s.user.id, s.keyword, s.category, s.minPrice, s.maxPrice FROM SavedSearch s")
+    Stream<Object[]> streamMatchFields();
+}
\ No newline at end of file
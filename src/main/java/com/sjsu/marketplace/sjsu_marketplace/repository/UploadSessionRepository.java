@@ -0,0 +1,30 @@
+package com.sjsu.marketplace.sjsu_marketplace.repository;
+
+import com.sjsu.marketplace.sjsu_marketplace.model.UploadSession;
+import com.sjsu.marketplace.sjsu_marketplace.model.UploadStatus;
+import com.sjsu.marketplace.sjsu_marketplace.model.User;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface UploadSessionRepository extends JpaRepository<UploadSession, String> {
+    Optional<UploadSession> findByIdAndUser(String id, User user);
+    List<UploadSession> findByIdInAndUser(Collection<String> ids, User user);
+    List<UploadSession> findByStatusAndUpdatedAtBefore(UploadStatus status, LocalDateTime cutoff);
+
+    @Query("SELECT s.imageUrl FROM UploadSession s WHERE s.status IN :statuses AND s.imageUrl IN :imageUrls")
+    List<String> findImageUrlsByStatusIn(Collection<UploadStatus> statuses, Collection<String> imageUrls);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM UploadSession s WHERE s.status <> :status AND s.updatedAt < :cutoff")
+    int deleteByStatusNotAndUpdatedAtBefore(UploadStatus status, LocalDateTime cutoff);
+}
\ No newline at end of file
@@ -0,0 +1,97 @@
+package com.sjsu.marketplace.sjsu_marketplace.service;
+
+import com.sjsu.marketplace.sjsu_marketplace.config.ReadWriteRoutingDataSource;
+import com.sjsu.marketplace.sjsu_marketplace.event.ListingChangeEvent;
+import com.sjsu.marketplace.sjsu_marketplace.model.Listing;
+import com.sjsu.marketplace.sjsu_marketplace.repository.ListingRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Cache validators for listing endpoints. Detail pages use an ETag built from the
+// listing id and updatedAt, cached in memory so a matching If-None-Match can be
+// answered without a query. Feed pages share a catalog version that is bumped on
+// every listing mutation; the boot time is part of it so restarts never reuse a tag.
+// Tags are weak: the JSON, CBOR and gzip-encoded bodies are equivalent representations,
+// and Tomcat refuses to compress responses that carry a strong ETag. Responses vary by
+// Accept so a cache never answers a CBOR request with a stored JSON body.
+@Service
+public class CatalogVersionService {
+
+    @Autowired
+    private ListingRepository listingRepository;
+
+    @Value("${etag.cache-max-entries:100000}")
+    private int maxCachedEtags;
+
+    @Value("${datasource.replicas.enabled:false}")
+    private boolean replicasEnabled;
+
+    @Value("${datasource.replicas.max-lag-seconds:5}")
+    private long maxLagSeconds;
+
+    @Value("${datasource.replicas.health-check-ms:5000}")
+    private long healthCheckMillis;
+
+    private final String bootId = Long.toString(System.currentTimeMillis(), 36);
+    private final AtomicLong catalogVersion = new AtomicLong();
+    private volatile long lastChangeMillis;
+    private final Map<Long, String> listingEtags = new ConcurrentHashMap<>();
+
+    @TransactionalEventListener
+    public void onListingChange(ListingChangeEvent event) {
+        lastChangeMillis = System.currentTimeMillis();
+        catalogVersion.incrementAndGet();
+        listingEtags.remove(event.getListing().getId());
+    }
+
+    // Null while a replica may still serve feed pages from before the last change: a
+    // tag for the new version on an old page would earn 304s for stale content. A
+    // replica past max-lag is only dropped at the next health check, hence the sum.
+    public String getFeedEtag() {
+        long version = catalogVersion.get();
+        if (replicasEnabled
+                && System.currentTimeMillis() - lastChangeMillis < maxLagSeconds * 1000 + healthCheckMillis) {
+            return null;
+        }
+        return "W/\"c" + bootId + "-" + version + "\"";
+    }
+
+    // Null when the listing does not exist
+    public String getListingEtag(Long listingId) {
+        String etag = listingEtags.get(listingId);
+        if (etag != null) {
+            return etag;
+        }
+        long versionBefore = catalogVersion.get();
+        // From the primary, since the tag is cached until the listing next changes
+        etag = ReadWriteRoutingDataSource.readFromPrimary(() -> listingRepository.findUpdatedAtById(listingId))
+                .map(updatedAt -> etag(listingId, updatedAt))
+                .orElse(null);
+        // Don't cache a tag that a concurrent change may already have invalidated
+        if (etag != null && catalogVersion.get() == versionBefore) {
+            if (listingEtags.size() >= maxCachedEtags) {
+                listingEtags.clear();
+            }
+            listingEtags.put(listingId, etag);
+        }
+        return etag;
+    }
+
+    public String getListingEtag(Listing listing) {
+        return etag(listing.getId(), listing.getUpdatedAt());
+    }
+
+    // Millisecond precision so the in-memory and database timestamps agree
+    private static String etag(Long listingId, LocalDateTime updatedAt) {
+        long millis = updatedAt != null ? updatedAt.toInstant(ZoneOffset.UTC).toEpochMilli() : 0;
+        return "W/\"l" + listingId + "-" + Long.toString(millis, 36) + "\"";
+    }
+}
@@ -0,0 +1,206 @@
+package com.sjsu.marketplace.sjsu_marketplace.service;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sjsu.marketplace.sjsu_marketplace.model.User;
+import jakarta.annotation.PostConstruct;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+// Writes a user's listings, listing images and messages as NDJSON, one JSON
+// object per line tagged with its "type". Rows come from forward-only cursors
+// (a fetch size of Integer.MIN_VALUE makes MySQL stream rows instead of loading
+// the whole result) and go straight to the output stream, so memory does not
+// grow with the size of the export. The queries run without a transaction, each
+// in autocommit, so no transaction stays open while a slow client downloads.
+@Service
+public class DataExportService {
+
+    public static final String NDJSON_ENTRY = "export.ndjson";
+
+    private static final String LISTINGS_SQL =
+            "SELECT l.id, l.title, l.description, l.price, l.category, l.status, l.created_at, l.updated_at, " +
+            "i.image_url, i.is_primary " +
+            "FROM listings l LEFT JOIN listing_images i ON i.listing_id = l.id " +
+            "WHERE l.seller_id = ? ORDER BY l.id, i.id";
+
+    private static final String MESSAGES_SQL =
+            "SELECT m.id, m.sender_id, s.username, m.receiver_id, r.username, m.listing_id, m.content, " +
+            "m.message_read, m.created_at " +
+            "FROM messages m JOIN users s ON s.id = m.sender_id JOIN users r ON r.id = m.receiver_id " +
+            "WHERE m.sender_id = ? OR m.receiver_id = ? ORDER BY m.id";
+
+    private static final String IMAGE_URLS_SQL =
+            "SELECT i.image_url FROM listing_images i JOIN listings l ON l.id = i.listing_id " +
+            "WHERE l.seller_id = ? ORDER BY i.id";
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Autowired
+    private DataSource dataSource;
+
+    private JdbcTemplate cursorTemplate;
+
+    @PostConstruct
+    public void init() {
+        cursorTemplate = new JdbcTemplate(dataSource);
+        cursorTemplate.setFetchSize(Integer.MIN_VALUE);
+    }
+
+    public void writeNdjson(User user, OutputStream out) throws IOException {
+        JsonGenerator json = objectMapper.getFactory().createGenerator(out);
+        // The caller owns the stream (it may be a zip entry)
+        json.disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET);
+        json.setRootValueSeparator(null);
+
+        json.writeStartObject();
+        json.writeStringField("type", "user");
+        json.writeNumberField("id", user.getId());
+        json.writeStringField("username", user.getUsername());
+        json.writeStringField("email", user.getEmail());
+        writeTimestamp(json, "createdAt", user.getCreatedAt() != null ? Timestamp.valueOf(user.getCreatedAt()) : null);
+        json.writeEndObject();
+        json.writeRaw('\n');
+
+        writeListings(user, json);
+        writeMessages(user, json);
+        json.flush();
+    }
+
+    // NDJSON as the first zip entry, followed by every image file the user's listings use
+    public void writeZip(User user, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out);
+        zip.putNextEntry(new ZipEntry(NDJSON_ENTRY));
+        writeNdjson(user, zip);
+        zip.closeEntry();
+
+        try {
+            cursorTemplate.query(IMAGE_URLS_SQL, rs -> {
+                Path file = fileStorageService.resolveStoredFile(rs.getString(1));
+                if (file == null || !Files.isRegularFile(file)) {
+                    return;
+                }
+                try {
+                    zip.putNextEntry(new ZipEntry("images/" + file.getFileName()));
+                    Files.copy(file, zip);
+                    zip.closeEntry();
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, user.getId());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+        zip.finish();
+    }
+
+    // The join returns one row per image, so consecutive rows with the same id
+    // are folded into a single listing object
+    private void writeListings(User user, JsonGenerator json) throws IOException {
+        long[] currentId = {-1};
+        try {
+            cursorTemplate.query(LISTINGS_SQL, rs -> {
+                try {
+                    long id = rs.getLong(1);
+                    if (id != currentId[0]) {
+                        if (currentId[0] != -1) {
+                            endListing(json);
+                        }
+                        currentId[0] = id;
+                        startListing(json, rs);
+                    }
+                    String imageUrl = rs.getString(9);
+                    if (imageUrl != null) {
+                        json.writeStartObject();
+                        json.writeStringField("imageUrl", imageUrl);
+                        json.writeBooleanField("primary", rs.getBoolean(10));
+                        json.writeEndObject();
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, user.getId());
+            if (currentId[0] != -1) {
+                endListing(json);
+            }
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private void startListing(JsonGenerator json, ResultSet rs) throws IOException, SQLException {
+        json.writeStartObject();
+        json.writeStringField("type", "listing");
+        json.writeNumberField("id", rs.getLong(1));
+        json.writeStringField("title", rs.getString(2));
+        json.writeStringField("description", rs.getString(3));
+        json.writeNumberField("price", rs.getBigDecimal(4));
+        json.writeStringField("category", rs.getString(5));
+        json.writeStringField("status", rs.getString(6));
+        writeTimestamp(json, "createdAt", rs.getTimestamp(7));
+        writeTimestamp(json, "updatedAt", rs.getTimestamp(8));
+        json.writeArrayFieldStart("images");
+    }
+
+    private void endListing(JsonGenerator json) throws IOException {
+        json.writeEndArray();
+        json.writeEndObject();
+        json.writeRaw('\n');
+    }
+
+    private void writeMessages(User user, JsonGenerator json) throws IOException {
+        try {
+            cursorTemplate.query(MESSAGES_SQL, rs -> {
+                try {
+                    json.writeStartObject();
+                    json.writeStringField("type", "message");
+                    json.writeNumberField("id", rs.getLong(1));
+                    json.writeNumberField("senderId", rs.getLong(2));
+                    json.writeStringField("sender", rs.getString(3));
+                    json.writeNumberField("receiverId", rs.getLong(4));
+                    json.writeStringField("receiver", rs.getString(5));
+                    long listingId = rs.getLong(6);
+                    if (rs.wasNull()) {
+                        json.writeNullField("listingId");
+                    } else {
+                        json.writeNumberField("listingId", listingId);
+                    }
+                    json.writeStringField("content", rs.getString(7));
+                    json.writeBooleanField("read", rs.getBoolean(8));
+                    writeTimestamp(json, "createdAt", rs.getTimestamp(9));
+                    json.writeEndObject();
+                    json.writeRaw('\n');
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            }, user.getId(), user.getId());
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static void writeTimestamp(JsonGenerator json, String field, Timestamp timestamp) throws IOException {
+        if (timestamp == null) {
+            json.writeNullField(field);
+        } else {
+            json.writeStringField(field, timestamp.toLocalDateTime().toString());
+        }
+    }
+}
\ No newline at end of file
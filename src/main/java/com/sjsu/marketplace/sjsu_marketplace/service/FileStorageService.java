@@ -6,33 +6,136 @@ import org.springframework.util.StringUtils;
 import org.springframework.web.multipart.MultipartFile;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
 import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
 import java.util.UUID;
 
 @Service
 public class FileStorageService {
 
+    public static final String URL_PREFIX = "/uploads/";
+
+    // In-progress upload sessions live here until they are finalized
+    private static final String PARTIAL_DIR = ".partial";
+    private static final int CHUNK_BUFFER_SIZE = 64 * 1024;
+
     @Value("${file.upload-dir}")
     private String uploadDir;
 
     public String storeFile(MultipartFile file) throws IOException {
         // Create upload directory if it doesn't exist
-        Path uploadPath = Paths.get(uploadDir).toAbsolutePath().normalize();
+        Path uploadPath = getUploadPath();
         Files.createDirectories(uploadPath);
 
         // Generate unique filename
-        String originalFilename = StringUtils.cleanPath(file.getOriginalFilename());
-        String fileExtension = originalFilename.substring(originalFilename.lastIndexOf("."));
-        String newFilename = UUID.randomUUID().toString() + fileExtension;
+        String newFilename = newFilename(file.getOriginalFilename());
 
         // Save file
         Path targetLocation = uploadPath.resolve(newFilename);
         Files.copy(file.getInputStream(), targetLocation, StandardCopyOption.REPLACE_EXISTING);
 
         // Return the URL to access the file
-        return "/uploads/" + newFilename;
+        return URL_PREFIX + newFilename;
+    }
+
+    // Streams a chunk into the session's partial file starting at offset. Anything
+    // past the offset from an earlier interrupted attempt is discarded first, so a
+    // client can always resume from the last acknowledged size. Never writes more
+    // than maxBytes; returns the number of bytes written.
+    public long writeChunk(String sessionId, long offset, InputStream in, long maxBytes) throws IOException {
+        Path partialPath = getPartialPath(sessionId);
+        Files.createDirectories(partialPath.getParent());
+
+        try (FileChannel channel = FileChannel.open(partialPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+            if (channel.size() < offset) {
+                throw new RuntimeException("Upload offset is past the received data");
+            }
+            channel.truncate(offset);
+            channel.position(offset);
+
+            ReadableByteChannel source = Channels.newChannel(in);
+            ByteBuffer buffer = ByteBuffer.allocate(CHUNK_BUFFER_SIZE);
+            long written = 0;
+            while (source.read(buffer) != -1) {
+                buffer.flip();
+                written += buffer.remaining();
+                if (written > maxBytes) {
+                    throw new RuntimeException("Upload exceeds declared size");
+                }
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                buffer.clear();
+            }
+            return written;
+        }
+    }
+
+    public long getPartialSize(String sessionId) throws IOException {
+        Path partialPath = getPartialPath(sessionId);
+        return Files.exists(partialPath) ? Files.size(partialPath) : 0;
+    }
+
+    // Moves a completed partial file into the upload directory and returns its URL
+    public String promotePartial(String sessionId, String originalFilename) throws IOException {
+        Path uploadPath = getUploadPath();
+        Files.createDirectories(uploadPath);
+        String newFilename = newFilename(originalFilename);
+        Files.move(getPartialPath(sessionId), uploadPath.resolve(newFilename), StandardCopyOption.ATOMIC_MOVE);
+        return URL_PREFIX + newFilename;
+    }
+
+    // Deletes a stored file by its URL and returns the bytes freed, or 0 if it was already gone
+    public long deleteStoredFile(String imageUrl) throws IOException {
+        Path file = resolveStoredFile(imageUrl);
+        if (file == null) {
+            return 0;
+        }
+        long size = Files.exists(file) ? Files.size(file) : 0;
+        return Files.deleteIfExists(file) ? size : 0;
+    }
+
+    // Maps an image URL back to its file, or null if it is not one of ours
+    public Path resolveStoredFile(String imageUrl) {
+        if (imageUrl == null || !imageUrl.startsWith(URL_PREFIX)) {
+            return null;
+        }
+        String filename = imageUrl.substring(URL_PREFIX.length());
+        if (filename.isEmpty() || filename.contains("/") || filename.contains("\\") || filename.startsWith(".")) {
+            return null;
+        }
+        return getUploadPath().resolve(filename);
+    }
+
+    public void deletePartial(String sessionId) throws IOException {
+        Files.deleteIfExists(getPartialPath(sessionId));
+    }
+
+    public Path getUploadPath() {
+        return Paths.get(uploadDir).toAbsolutePath().normalize();
+    }
+
+    private Path getPartialPath(String sessionId) {
+        return getUploadPath().resolve(PARTIAL_DIR).resolve(sessionId + ".part");
+    }
+
+    private static String newFilename(String originalFilename) {
+        String cleaned = StringUtils.cleanPath(originalFilename != null ? originalFilename : "");
+        int dot = cleaned.lastIndexOf(".");
+        String fileExtension = dot >= 0 ? cleaned.substring(dot) : "";
+        // Client-supplied names end up in a path, so only keep plain extensions
+        if (!fileExtension.matches("\\.[A-Za-z0-9]{1,10}")) {
+            fileExtension = "";
+        }
+        return UUID.randomUUID().toString() + fileExtension;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,179 @@
+package com.sjsu.marketplace.sjsu_marketplace.service;
+
+import com.sjsu.marketplace.sjsu_marketplace.config.ReadWriteRoutingDataSource;
+import com.sjsu.marketplace.sjsu_marketplace.event.ListingChangeEvent;
+import com.sjsu.marketplace.sjsu_marketplace.model.Listing;
+import com.sjsu.marketplace.sjsu_marketplace.model.ListingStatus;
+import com.sjsu.marketplace.sjsu_marketplace.model.User;
+import com.sjsu.marketplace.sjsu_marketplace.repository.ListingRepository;
+import jakarta.annotation.PostConstruct;
+import org.hibernate.Hibernate;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+// The newest AVAILABLE listings, newest first, held as an immutable snapshot.
+// Writers copy the list under a lock and publish a new snapshot; readers only
+// read the volatile field, so serving the front page never blocks or queries.
+@Service
+public class HotFeedService {
+    private static final Logger logger = LoggerFactory.getLogger(HotFeedService.class);
+
+    public static final Sort NEWEST_FIRST = Sort.by(Sort.Direction.DESC, "createdAt");
+
+    private static final int MAX_REFILL_ATTEMPTS = 3;
+
+    @Autowired
+    private ListingRepository listingRepository;
+
+    @Autowired
+    private ListingFacetService listingFacetService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${hot-feed.size:100}")
+    private int capacity;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    private final AtomicLong mutations = new AtomicLong();
+    private volatile Window window = new Window(Collections.emptyList(), false);
+    private volatile boolean refillNeeded = true;
+    private TransactionTemplate readOnlyTransaction;
+
+    @PostConstruct
+    public void init() {
+        readOnlyTransaction = new TransactionTemplate(transactionManager);
+        readOnlyTransaction.setReadOnly(true);
+    }
+
+    // Returns null when the requested page is not fully inside the window
+    public Page<Listing> getPage(Pageable pageable) {
+        if (pageable.isUnpaged() || !(pageable.getSort().isUnsorted() || pageable.getSort().equals(NEWEST_FIRST))) {
+            return null;
+        }
+        Window current = window;
+        long offset = pageable.getOffset();
+        long end = offset + pageable.getPageSize();
+        if (end > current.items.size() && !current.complete) {
+            return null;
+        }
+
+        int from = (int) Math.min(offset, current.items.size());
+        int to = (int) Math.min(end, current.items.size());
+        long total = current.complete
+                ? current.items.size()
+                : Math.max(current.items.size(), listingFacetService.getStatusCount(ListingStatus.AVAILABLE));
+        return new PageImpl<>(current.items.subList(from, to), pageable, total);
+    }
+
+    @TransactionalEventListener
+    public void onListingChange(ListingChangeEvent event) {
+        Listing listing = event.getListing();
+        writeLock.lock();
+        try {
+            mutations.incrementAndGet();
+            Window current = window;
+            if (event.getType() == ListingChangeEvent.Type.CREATED) {
+                List<Listing> items = new ArrayList<>(current.items.size() + 1);
+                items.add(listing);
+                // A refill that committed after the insert may already hold it
+                for (Listing item : current.items) {
+                    if (!item.getId().equals(listing.getId())) {
+                        items.add(item);
+                    }
+                }
+                boolean complete = current.complete;
+                if (items.size() > capacity) {
+                    items.subList(capacity, items.size()).clear();
+                    complete = false;
+                }
+                window = new Window(items, complete);
+            } else if (listing.getStatus() == ListingStatus.AVAILABLE) {
+                // An older listing came back; its position is unknown, so reload the window
+                window = new Window(Collections.emptyList(), false);
+                refillNeeded = true;
+            } else {
+                List<Listing> items = new ArrayList<>(current.items);
+                if (items.removeIf(item -> item.getId().equals(listing.getId()))) {
+                    window = new Window(items, current.complete);
+                    if (!current.complete && items.size() < capacity / 2) {
+                        refillNeeded = true;
+                    }
+                }
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${hot-feed.refill-check-ms:5000}")
+    public void refillIfNeeded() {
+        if (!refillNeeded) {
+            return;
+        }
+        refillNeeded = false;
+
+        // A load that raced with a change is thrown away rather than published. Each
+        // attempt reads in its own transaction so that it sees the change.
+        for (int attempt = 1; attempt <= MAX_REFILL_ATTEMPTS; attempt++) {
+            long mutationsBefore = mutations.get();
+            // From the primary: a replica may not have the change that triggered this yet
+            List<Listing> items = ReadWriteRoutingDataSource.readFromPrimary(
+                    () -> readOnlyTransaction.execute(status -> loadNewest()));
+
+            writeLock.lock();
+            try {
+                if (mutations.get() == mutationsBefore) {
+                    window = new Window(items, items.size() < capacity);
+                    logger.debug("Refilled hot feed with {} listings", items.size());
+                    return;
+                }
+            } finally {
+                writeLock.unlock();
+            }
+        }
+        // Still racing with writes; keep the current window and try again on the next check
+        refillNeeded = true;
+    }
+
+    private List<Listing> loadNewest() {
+        List<Listing> items = new ArrayList<>(listingRepository
+                .findByStatus(ListingStatus.AVAILABLE, PageRequest.of(0, capacity, NEWEST_FIRST))
+                .getContent());
+        // The snapshot outlives this transaction, so load what the JSON view needs now
+        for (Listing listing : items) {
+            listing.setSeller((User) Hibernate.unproxy(listing.getSeller()));
+            Hibernate.initialize(listing.getImages());
+        }
+        return items;
+    }
+
+    private static class Window {
+        private final List<Listing> items;
+        // True when the window holds every AVAILABLE listing
+        private final boolean complete;
+
+        Window(List<Listing> items, boolean complete) {
+            this.items = Collections.unmodifiableList(items);
+            this.complete = complete;
+        }
+    }
+}
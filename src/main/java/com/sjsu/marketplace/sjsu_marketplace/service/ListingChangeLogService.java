@@ -0,0 +1,143 @@
+package com.sjsu.marketplace.sjsu_marketplace.service;
+
+import com.sjsu.marketplace.sjsu_marketplace.event.ListingChangeEvent;
+import com.sjsu.marketplace.sjsu_marketplace.model.ListingChange;
+import com.sjsu.marketplace.sjsu_marketplace.model.ListingChangeType;
+import com.sjsu.marketplace.sjsu_marketplace.repository.ListingChangeRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionPhase;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class ListingChangeLogService {
+    private static final Logger logger = LoggerFactory.getLogger(ListingChangeLogService.class);
+
+    private static final int MAX_PAGE_SIZE = 1000;
+
+    private static final String INSERT_SQL =
+            "INSERT INTO listing_changes (listing_id, change_type, changed_at) VALUES (?, ?, ?)";
+
+    @Autowired
+    private ListingChangeRepository listingChangeRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    // Ids are assigned at insert but become visible at commit, so a reader could see
+    // id N+1 before id N commits. Entries are only served once they are this old.
+    @Value("${changes.settle-ms:2000}")
+    private long settleMillis;
+
+    @Value("${changes.retention-days:30}")
+    private long retentionDays;
+
+    // Clients whose cursor is below this id missed purged entries and must resync
+    private volatile long horizon;
+
+    // Runs inside the mutating transaction, so the entry commits or rolls back with it
+    @TransactionalEventListener(phase = TransactionPhase.BEFORE_COMMIT)
+    public void onListingChange(ListingChangeEvent event) {
+        if (event.isChangeLogged()) {
+            return;
+        }
+        ListingChange change = new ListingChange();
+        change.setListingId(event.getListing().getId());
+        switch (event.getType()) {
+            case CREATED:
+                change.setChangeType(ListingChangeType.CREATED);
+                break;
+            case STATUS_CHANGED:
+                change.setChangeType(ListingChangeType.UPDATED);
+                break;
+            case DELETED:
+                change.setChangeType(ListingChangeType.DELETED);
+                break;
+        }
+        listingChangeRepository.save(change);
+    }
+
+    // For bulk imports: one JDBC batch instead of a managed entity per row. Must run
+    // in the transaction that inserted the listings.
+    public void recordCreated(List<Long> listingIds) {
+        Timestamp now = Timestamp.valueOf(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(INSERT_SQL, listingIds, listingIds.size(), (ps, listingId) -> {
+            ps.setLong(1, listingId);
+            ps.setString(2, ListingChangeType.CREATED.name());
+            ps.setTimestamp(3, now);
+        });
+    }
+
+    @Transactional(readOnly = true)
+    public Map<String, Object> getChangesSince(long cursor, int limit) {
+        int pageSize = Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        Map<String, Object> response = new LinkedHashMap<>();
+        if (cursor < horizon) {
+            // The client reloads the catalog and continues from the current end of the log;
+            // changes racing with that reload are sent again, which is harmless
+            Long latest = listingChangeRepository.findMaxId();
+            response.put("resetRequired", true);
+            response.put("changes", List.of());
+            response.put("cursor", latest != null ? latest : horizon);
+            response.put("hasMore", false);
+            return response;
+        }
+
+        LocalDateTime settledBefore = LocalDateTime.now().minusNanos(settleMillis * 1_000_000);
+        List<ListingChange> changes = listingChangeRepository.findByIdGreaterThanOrderByIdAsc(
+                cursor, PageRequest.of(0, pageSize + 1));
+        // The page ends at the first entry that hasn't settled: a later one may have
+        // settled already, but serving it would move the cursor past this one
+        int settled = 0;
+        while (settled < changes.size() && changes.get(settled).getChangedAt().isBefore(settledBefore)) {
+            settled++;
+        }
+        boolean hasMore = settled > pageSize;
+        changes = changes.subList(0, Math.min(settled, pageSize));
+
+        response.put("resetRequired", false);
+        response.put("changes", changes);
+        response.put("cursor", changes.isEmpty() ? cursor : changes.get(changes.size() - 1).getId());
+        response.put("hasMore", hasMore);
+        return response;
+    }
+
+    // Nothing records purged ranges across restarts, so assume everything below the
+    // oldest surviving entry is gone. At worst this asks a client to resync needlessly.
+    @EventListener(ApplicationReadyEvent.class)
+    public void initHorizon() {
+        Long minId = listingChangeRepository.findMinId();
+        horizon = minId != null ? minId - 1 : 0;
+    }
+
+    @Scheduled(fixedDelayString = "${changes.compaction-interval-ms:3600000}",
+            initialDelayString = "${changes.compaction-interval-ms:3600000}")
+    @Transactional
+    public void compact() {
+        LocalDateTime now = LocalDateTime.now();
+        int superseded = listingChangeRepository.deleteSuperseded(now.minusNanos(settleMillis * 1_000_000));
+
+        int purged = 0;
+        Long purgeUpTo = listingChangeRepository.findMaxIdBefore(now.minusDays(retentionDays));
+        if (purgeUpTo != null) {
+            purged = listingChangeRepository.deleteUpTo(purgeUpTo);
+            horizon = Math.max(horizon, purgeUpTo);
+        }
+        logger.info("Compacted listing change log: {} superseded, {} expired", superseded, purged);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,138 @@
+package com.sjsu.marketplace.sjsu_marketplace.service;
+
+import com.sjsu.marketplace.sjsu_marketplace.config.ReadWriteRoutingDataSource;
+import com.sjsu.marketplace.sjsu_marketplace.event.ListingChangeEvent;
+import com.sjsu.marketplace.sjsu_marketplace.model.Listing;
+import com.sjsu.marketplace.sjsu_marketplace.model.ListingStatus;
+import com.sjsu.marketplace.sjsu_marketplace.repository.ListingRepository;
+import com.sjsu.marketplace.sjsu_marketplace.util.PriceBuckets;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+@Service
+public class ListingFacetService {
+    private static final Logger logger = LoggerFactory.getLogger(ListingFacetService.class);
+
+    @Autowired
+    private ListingRepository listingRepository;
+
+    // Counts per status, plus per category and price bucket for AVAILABLE listings
+    private volatile FacetCounts counts = new FacetCounts();
+
+    @TransactionalEventListener
+    public void onListingChange(ListingChangeEvent event) {
+        Listing listing = event.getListing();
+        FacetCounts current = counts;
+        switch (event.getType()) {
+            case CREATED:
+                current.adjust(listing.getStatus(), listing, 1);
+                break;
+            case STATUS_CHANGED:
+                current.adjust(event.getPreviousStatus(), listing, -1);
+                current.adjust(listing.getStatus(), listing, 1);
+                break;
+            case DELETED:
+                current.adjust(event.getPreviousStatus(), listing, -1);
+                break;
+        }
+    }
+
+    // Incremental updates can drift (e.g. rows changed outside ListingService),
+    // so the counters are periodically rebuilt from the database. The counts come
+    // from the primary; a lagging replica would overwrite correct incremental counts.
+    @Scheduled(fixedDelayString = "${facets.reconcile-interval-ms:300000}")
+    @Transactional(readOnly = true)
+    public void reconcile() {
+        FacetCounts fresh = ReadWriteRoutingDataSource.readFromPrimary(this::countAll);
+        counts = fresh;
+        logger.debug("Reconciled listing facets: {}", fresh.byStatus);
+    }
+
+    private FacetCounts countAll() {
+        FacetCounts fresh = new FacetCounts();
+
+        for (Object[] row : listingRepository.countGroupedByStatus()) {
+            fresh.byStatus.put(row[0].toString(), new AtomicLong((Long) row[1]));
+        }
+        for (Object[] row : listingRepository.countGroupedByCategory(ListingStatus.AVAILABLE)) {
+            fresh.byCategory.put((String) row[0], new AtomicLong((Long) row[1]));
+        }
+        for (int i = 0; i < PriceBuckets.count(); i++) {
+            BigDecimal lower = PriceBuckets.lowerBound(i);
+            BigDecimal upper = PriceBuckets.upperBound(i);
+            long count = upper == null
+                    ? listingRepository.countByStatusAndPriceGreaterThanEqual(ListingStatus.AVAILABLE, lower)
+                    : listingRepository.countByStatusAndPriceGreaterThanEqualAndPriceLessThan(
+                            ListingStatus.AVAILABLE, lower, upper);
+            fresh.byPrice.put(PriceBuckets.labels().get(i), new AtomicLong(count));
+        }
+        return fresh;
+    }
+
+    public long getStatusCount(ListingStatus status) {
+        AtomicLong count = counts.byStatus.get(status.name());
+        return count != null ? Math.max(0, count.get()) : 0;
+    }
+
+    public Map<String, Map<String, Long>> getFacets() {
+        FacetCounts current = counts;
+        Map<String, Map<String, Long>> facets = new LinkedHashMap<>();
+
+        Map<String, Long> statuses = new LinkedHashMap<>();
+        for (ListingStatus status : ListingStatus.values()) {
+            AtomicLong count = current.byStatus.get(status.name());
+            statuses.put(status.name(), count != null ? Math.max(0, count.get()) : 0);
+        }
+        facets.put("status", statuses);
+
+        Map<String, Long> categories = new LinkedHashMap<>();
+        current.byCategory.entrySet().stream()
+                .filter(e -> e.getValue().get() > 0)
+                .sorted(Comparator.comparingLong((Map.Entry<String, AtomicLong> e) -> e.getValue().get()).reversed()
+                        .thenComparing(Map.Entry::getKey))
+                .forEach(e -> categories.put(e.getKey(), e.getValue().get()));
+        facets.put("category", categories);
+
+        Map<String, Long> prices = new LinkedHashMap<>();
+        for (String label : PriceBuckets.labels()) {
+            AtomicLong count = current.byPrice.get(label);
+            prices.put(label, count != null ? Math.max(0, count.get()) : 0);
+        }
+        facets.put("price", prices);
+
+        return facets;
+    }
+
+    private static class FacetCounts {
+        private final Map<String, AtomicLong> byStatus = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> byCategory = new ConcurrentHashMap<>();
+        private final Map<String, AtomicLong> byPrice = new ConcurrentHashMap<>();
+
+        void adjust(ListingStatus status, Listing listing, long delta) {
+            if (status == null) {
+                return;
+            }
+            increment(byStatus, status.name(), delta);
+            if (status == ListingStatus.AVAILABLE) {
+                increment(byCategory, listing.getCategory(), delta);
+                increment(byPrice, PriceBuckets.bucketOf(listing.getPrice()), delta);
+            }
+        }
+
+        private static void increment(Map<String, AtomicLong> counters, String key, long delta) {
+            counters.computeIfAbsent(key, k -> new AtomicLong()).addAndGet(delta);
+        }
+    }
+}
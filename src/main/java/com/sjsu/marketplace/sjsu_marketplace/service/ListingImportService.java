@@ -0,0 +1,309 @@
+package com.sjsu.marketplace.sjsu_marketplace.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sjsu.marketplace.sjsu_marketplace.event.ListingChangeEvent;
+import com.sjsu.marketplace.sjsu_marketplace.model.Listing;
+import com.sjsu.marketplace.sjsu_marketplace.model.ListingStatus;
+import com.sjsu.marketplace.sjsu_marketplace.model.User;
+import com.sjsu.marketplace.sjsu_marketplace.util.CsvReader;
+import jakarta.validation.Validator;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.support.GeneratedKeyHolder;
+import org.springframework.jdbc.support.KeyHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+// Bulk listing import from CSV (with a header row) or NDJSON. The body is parsed
+// one row at a time and valid rows are inserted in JDBC batches, each in its own
+// short transaction. Listings and their change log rows both go through
+// JdbcTemplate, because Hibernate cannot batch IDENTITY inserts, so no entities
+// pile up in a persistence context and memory stays flat however large the file is.
+@Service
+public class ListingImportService {
+    private static final Logger logger = LoggerFactory.getLogger(ListingImportService.class);
+
+    private static final String INSERT_SQL =
+            "INSERT INTO listings (title, description, price, category, status, seller_id, created_at, updated_at) " +
+            "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final List<String> CSV_COLUMNS = List.of("title", "description", "price", "category");
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+
+    @Autowired
+    private Validator validator;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Autowired
+    private ListingChangeLogService listingChangeLogService;
+
+    @Value("${import.batch-size:500}")
+    private int batchSize;
+
+    @Value("${import.max-rows:100000}")
+    private int maxRows;
+
+    @Value("${import.max-reported-errors:100}")
+    private int maxReportedErrors;
+
+    public Map<String, Object> importCsv(InputStream in, User seller) throws IOException {
+        CsvReader csv = new CsvReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        List<String> header = csv.readRecord();
+        if (header == null) {
+            throw new RuntimeException("CSV import is empty");
+        }
+        Map<String, Integer> columns = new HashMap<>();
+        for (int i = 0; i < header.size(); i++) {
+            columns.put(header.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String column : CSV_COLUMNS) {
+            if (!columns.containsKey(column)) {
+                throw new RuntimeException("CSV header is missing column: " + column);
+            }
+        }
+
+        ImportRun run = new ImportRun(seller);
+        List<String> record;
+        int row = 0;
+        while (true) {
+            try {
+                record = csv.readRecord();
+            } catch (IOException e) {
+                // A malformed record leaves no reliable boundary for the next one, so it is
+                // reported as a failed row and the batches already committed stand
+                run.abort(row + 1, e.getMessage());
+                break;
+            }
+            if (record == null) {
+                break;
+            }
+            row++;
+            if (record.size() == 1 && record.get(0).isBlank()) {
+                continue;
+            }
+            if (!run.nextRow()) {
+                break;
+            }
+            Listing listing = new Listing();
+            listing.setTitle(column(record, columns, "title"));
+            listing.setDescription(column(record, columns, "description"));
+            listing.setCategory(column(record, columns, "category"));
+            String price = column(record, columns, "price");
+            try {
+                listing.setPrice(price != null && !price.isBlank() ? new BigDecimal(price.trim()) : null);
+            } catch (NumberFormatException e) {
+                run.reject(row, List.of("price: not a number"));
+                continue;
+            }
+            run.offer(row, listing);
+        }
+        return run.finish();
+    }
+
+    public Map<String, Object> importNdjson(InputStream in, User seller) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+        ImportRun run = new ImportRun(seller);
+        String line;
+        int row = 0;
+        while ((line = reader.readLine()) != null) {
+            row++;
+            if (line.isBlank()) {
+                continue;
+            }
+            if (!run.nextRow()) {
+                break;
+            }
+            Listing parsed;
+            try {
+                parsed = objectMapper.readValue(line, Listing.class);
+            } catch (JsonProcessingException e) {
+                run.reject(row, List.of("invalid JSON: " + e.getOriginalMessage()));
+                continue;
+            }
+            // Only the descriptive fields are taken from the row
+            Listing listing = new Listing();
+            listing.setTitle(parsed.getTitle());
+            listing.setDescription(parsed.getDescription());
+            listing.setPrice(parsed.getPrice());
+            listing.setCategory(parsed.getCategory());
+            run.offer(row, listing);
+        }
+        return run.finish();
+    }
+
+    private static String column(List<String> record, Map<String, Integer> columns, String name) {
+        int index = columns.get(name);
+        return index < record.size() ? record.get(index) : null;
+    }
+
+    // Tracks one import: the pending batch, totals and a capped list of row errors
+    private class ImportRun {
+        private final User seller;
+        private final List<Integer> batchRows = new ArrayList<>();
+        private final List<Listing> batch = new ArrayList<>();
+        private final List<Map<String, Object>> errors = new ArrayList<>();
+        private int rows;
+        private int imported;
+        private int failed;
+        private boolean truncated;
+
+        ImportRun(User seller) {
+            this.seller = seller;
+        }
+
+        // False once the row limit is reached; the rest of the input is ignored
+        boolean nextRow() {
+            if (rows >= maxRows) {
+                truncated = true;
+                return false;
+            }
+            rows++;
+            return true;
+        }
+
+        void offer(int row, Listing listing) {
+            List<String> violations = validator.validate(listing).stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.toList());
+            if (!violations.isEmpty()) {
+                reject(row, violations);
+                return;
+            }
+            batchRows.add(row);
+            batch.add(listing);
+            if (batch.size() >= batchSize) {
+                flush();
+            }
+        }
+
+        // Ends the import at an unreadable row; the rest of the input is ignored
+        void abort(int row, String message) {
+            rows++;
+            reject(row, List.of(message));
+            truncated = true;
+        }
+
+        void reject(int row, List<String> messages) {
+            failed++;
+            if (errors.size() < maxReportedErrors) {
+                Map<String, Object> error = new LinkedHashMap<>();
+                error.put("row", row);
+                error.put("errors", messages);
+                errors.add(error);
+            }
+        }
+
+        void flush() {
+            if (batch.isEmpty()) {
+                return;
+            }
+            try {
+                transactionTemplate.executeWithoutResult(status -> insertBatch(batch, seller));
+                imported += batch.size();
+            } catch (DataAccessException e) {
+                logger.warn("Listing import batch failed: {}", e.getMessage());
+                for (Integer row : batchRows) {
+                    reject(row, List.of("database error: " + e.getMostSpecificCause().getMessage()));
+                }
+            }
+            batch.clear();
+            batchRows.clear();
+        }
+
+        Map<String, Object> finish() {
+            flush();
+            Map<String, Object> result = new LinkedHashMap<>();
+            result.put("imported", imported);
+            result.put("failed", failed);
+            result.put("truncated", truncated);
+            result.put("errors", errors);
+            logger.info("Imported {} listings for user {} ({} failed)", imported, seller.getId(), failed);
+            return result;
+        }
+    }
+
+    // Caller must be in a transaction; the CREATED events fire when it commits
+    private void insertBatch(List<Listing> listings, User seller) {
+        // Millisecond precision so the in-memory copies match the stored rows
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS);
+        Timestamp timestamp = Timestamp.valueOf(now);
+        KeyHolder keys = new GeneratedKeyHolder();
+        jdbcTemplate.batchUpdate(
+                connection -> connection.prepareStatement(INSERT_SQL, Statement.RETURN_GENERATED_KEYS),
+                new BatchPreparedStatementSetter() {
+                    @Override
+                    public void setValues(PreparedStatement ps, int i) throws SQLException {
+                        Listing listing = listings.get(i);
+                        ps.setString(1, listing.getTitle());
+                        ps.setString(2, listing.getDescription());
+                        ps.setBigDecimal(3, listing.getPrice());
+                        ps.setString(4, listing.getCategory());
+                        ps.setString(5, ListingStatus.AVAILABLE.name());
+                        ps.setLong(6, seller.getId());
+                        ps.setTimestamp(7, timestamp);
+                        ps.setTimestamp(8, timestamp);
+                    }
+
+                    @Override
+                    public int getBatchSize() {
+                        return listings.size();
+                    }
+                },
+                keys);
+
+        List<Map<String, Object>> keyList = keys.getKeyList();
+        List<Long> ids = new ArrayList<>(listings.size());
+        for (Map<String, Object> key : keyList) {
+            ids.add(((Number) key.values().iterator().next()).longValue());
+        }
+        listingChangeLogService.recordCreated(ids);
+
+        for (int i = 0; i < listings.size(); i++) {
+            Listing listing = listings.get(i);
+            listing.setId(ids.get(i));
+            listing.setSeller(seller);
+            listing.setStatus(ListingStatus.AVAILABLE);
+            listing.setCreatedAt(now);
+            listing.setUpdatedAt(now);
+            eventPublisher.publishEvent(ListingChangeEvent.imported(listing));
+        }
+    }
+}
\ No newline at end of file
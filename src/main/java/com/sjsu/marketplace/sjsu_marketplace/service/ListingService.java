@@ -1,20 +1,29 @@
 package com.sjsu.marketplace.sjsu_marketplace.service;
 
+import com.sjsu.marketplace.sjsu_marketplace.event.ImageFilesReleasedEvent;
+import com.sjsu.marketplace.sjsu_marketplace.event.ListingChangeEvent;
 import com.sjsu.marketplace.sjsu_marketplace.model.Listing;
 import com.sjsu.marketplace.sjsu_marketplace.model.ListingImage;
 import com.sjsu.marketplace.sjsu_marketplace.model.ListingStatus;
+import com.sjsu.marketplace.sjsu_marketplace.model.UploadSession;
 import com.sjsu.marketplace.sjsu_marketplace.model.User;
 import com.sjsu.marketplace.sjsu_marketplace.repository.ListingRepository;
+import com.sjsu.marketplace.sjsu_marketplace.repository.MessageRepository;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
-import org.springframework.web.multipart.MultipartFile;
 
-import java.io.IOException;
 import java.math.BigDecimal;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class ListingService {
@@ -23,24 +32,32 @@ public class ListingService {
     private ListingRepository listingRepository;
 
     @Autowired
-    private FileStorageService fileStorageService;
+    private UploadSessionService uploadSessionService;
 
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${listings.bulk-delete-max:500}")
+    private int maxBulkDelete;
+
+    // Images must already be uploaded and finalized; nothing is written to disk here
     @Transactional
-    public Listing createListing(Listing listing, User seller, List<MultipartFile> images) throws IOException {
+    public Listing createListing(Listing listing, User seller, List<String> uploadIds) {
         listing.setSeller(seller);
         listing.setStatus(ListingStatus.AVAILABLE);
         
         // Save listing first to get the ID
         Listing savedListing = listingRepository.save(listing);
 
-        // Handle image uploads
-        if (images != null && !images.isEmpty()) {
-            for (int i = 0; i < images.size(); i++) {
-                MultipartFile image = images.get(i);
-                String imageUrl = fileStorageService.storeFile(image);
-                
+        // Attach the uploaded images
+        if (uploadIds != null && !uploadIds.isEmpty()) {
+            List<UploadSession> uploads = uploadSessionService.attachFinalized(uploadIds, seller);
+            for (int i = 0; i < uploads.size(); i++) {
                 ListingImage listingImage = new ListingImage();
-                listingImage.setImageUrl(imageUrl);
+                listingImage.setImageUrl(uploads.get(i).getImageUrl());
                 listingImage.setPrimary(i == 0); // First image is primary
                 listingImage.setListing(savedListing);
                 
@@ -48,50 +65,119 @@ public class ListingService {
             }
         }
 
-        return listingRepository.save(savedListing);
+        savedListing = listingRepository.save(savedListing);
+        eventPublisher.publishEvent(ListingChangeEvent.created(savedListing));
+        return savedListing;
     }
 
     @Transactional(readOnly = true)
     public Page<Listing> getAllListings(Pageable pageable) {
-        return listingRepository.findByStatus(ListingStatus.AVAILABLE, pageable);
+        return loadForView(listingRepository.findByStatus(ListingStatus.AVAILABLE, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<Listing> searchListings(String keyword, Pageable pageable) {
-        return listingRepository.searchByKeyword(keyword, pageable);
+        return loadForView(listingRepository.searchByKeyword(keyword, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<Listing> getListingsByCategory(String category, Pageable pageable) {
-        return listingRepository.findByCategory(category, pageable);
+        return loadForView(listingRepository.findByCategory(category, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<Listing> getListingsByPriceRange(Double minPrice, Double maxPrice, Pageable pageable) {
-        return listingRepository.findByPriceRangeAndStatus(minPrice, maxPrice, ListingStatus.AVAILABLE, pageable);
+        return loadForView(listingRepository.findByPriceRangeAndStatus(minPrice, maxPrice, ListingStatus.AVAILABLE, pageable));
     }
 
     @Transactional(readOnly = true)
     public Page<Listing> getUserListings(User user, Pageable pageable) {
-        return listingRepository.findBySeller(user, pageable);
+        return loadForView(listingRepository.findBySeller(user, pageable));
     }
 
     @Transactional
     public Listing updateListingStatus(Long listingId, ListingStatus status) {
         Listing listing = listingRepository.findById(listingId)
                 .orElseThrow(() -> new RuntimeException("Listing not found"));
+        ListingStatus previousStatus = listing.getStatus();
         listing.setStatus(status);
-        return listingRepository.save(listing);
+        Listing savedListing = listingRepository.save(listing);
+        if (previousStatus != status) {
+            eventPublisher.publishEvent(ListingChangeEvent.statusChanged(savedListing, previousStatus));
+        }
+        return loadForView(savedListing);
     }
 
     @Transactional
     public void deleteListing(Long listingId) {
-        listingRepository.deleteById(listingId);
+        listingRepository.findById(listingId).ifPresent(listing -> {
+            List<String> imageUrls = listing.getImages().stream()
+                    .map(ListingImage::getImageUrl)
+                    .collect(Collectors.toList());
+            messageRepository.detachFromListings(List.of(listingId));
+            listingRepository.delete(listing);
+            eventPublisher.publishEvent(ListingChangeEvent.deleted(listing));
+            eventPublisher.publishEvent(new ImageFilesReleasedEvent(imageUrls));
+        });
+    }
+
+    // Deletes the seller's listings among the given ids with a handful of set-based
+    // statements instead of one cascade per listing. Returns how many were deleted.
+    @Transactional
+    public int deleteListings(List<Long> listingIds, User seller) {
+        if (listingIds.size() > maxBulkDelete) {
+            throw new RuntimeException("Cannot delete more than " + maxBulkDelete + " listings at once");
+        }
+        List<Listing> listings = listingRepository.findBySellerAndIdIn(seller, listingIds);
+        if (listings.isEmpty()) {
+            return 0;
+        }
+        List<Long> ownedIds = listings.stream().map(Listing::getId).collect(Collectors.toList());
+        List<String> imageUrls = listingRepository.findImageUrlsByListingIds(ownedIds);
+
+        messageRepository.detachFromListings(ownedIds);
+        listingRepository.deleteImagesByListingIds(ownedIds);
+        int deleted = listingRepository.deleteAllByIds(ownedIds);
+
+        for (Listing listing : listings) {
+            eventPublisher.publishEvent(ListingChangeEvent.deleted(listing));
+        }
+        eventPublisher.publishEvent(new ImageFilesReleasedEvent(imageUrls));
+        return deleted;
     }
 
     @Transactional(readOnly = true)
     public Listing getListing(Long listingId) {
         return listingRepository.findById(listingId)
+                .map(ListingService::loadForView)
                 .orElseThrow(() -> new RuntimeException("Listing not found"));
     }
-} 
\ No newline at end of file
+
+    // Loads listings by id, keeping the order of the given ids and skipping missing ones
+    @Transactional(readOnly = true)
+    public List<Listing> getListingsInOrder(List<Long> listingIds) {
+        Map<Long, Listing> byId = listingRepository.findAllById(listingIds).stream()
+                .collect(Collectors.toMap(Listing::getId, Function.identity()));
+        List<Listing> ordered = new ArrayList<>(listingIds.size());
+        for (Long id : listingIds) {
+            Listing listing = byId.get(id);
+            if (listing != null) {
+                ordered.add(loadForView(listing));
+            }
+        }
+        return ordered;
+    }
+
+    // Responses are serialized after the transaction has ended (open-in-view is off),
+    // so load the seller and images while the session is still open
+    static Listing loadForView(Listing listing) {
+        listing.setSeller((User) Hibernate.unproxy(listing.getSeller()));
+        Hibernate.initialize(listing.getImages());
+        return listing;
+    }
+
+    private static Page<Listing> loadForView(Page<Listing> page) {
+        page.getContent().forEach(ListingService::loadForView);
+        return page;
+    }
+}
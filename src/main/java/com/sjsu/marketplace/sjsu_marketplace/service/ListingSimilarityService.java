@@ -0,0 +1,281 @@
+package com.sjsu.marketplace.sjsu_marketplace.service;
+
+import com.sjsu.marketplace.sjsu_marketplace.event.ListingChangeEvent;
+import com.sjsu.marketplace.sjsu_marketplace.model.Listing;
+import com.sjsu.marketplace.sjsu_marketplace.model.ListingStatus;
+import com.sjsu.marketplace.sjsu_marketplace.repository.ListingRepository;
+import com.sjsu.marketplace.sjsu_marketplace.util.PriceBuckets;
+import com.sjsu.marketplace.sjsu_marketplace.util.TextTokenizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+// In-memory TF-IDF index over AVAILABLE listings used for the "similar listings" rail.
+// Candidates come from the inverted postings of the query listing's strongest terms,
+// so a lookup only scores listings that share at least one of those terms.
+@Service
+public class ListingSimilarityService {
+    private static final Logger logger = LoggerFactory.getLogger(ListingSimilarityService.class);
+
+    private static final int TITLE_BOOST = 2;
+    private static final String CATEGORY_PREFIX = "cat:";
+    private static final String PRICE_PREFIX = "price:";
+
+    @Autowired
+    private ListingRepository listingRepository;
+
+    @Value("${similarity.max-results:20}")
+    private int maxResults;
+
+    @Value("${similarity.max-query-terms:25}")
+    private int maxQueryTerms;
+
+    @Value("${similarity.max-candidates:5000}")
+    private int maxCandidates;
+
+    @Value("${similarity.cache-max-entries:50000}")
+    private int maxCachedResults;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Map<String, Integer>> termCounts = new HashMap<>();
+    private final Map<String, Set<Long>> postings = new HashMap<>();
+    private final Map<Long, List<Long>> cache = new ConcurrentHashMap<>();
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildIndex() {
+        try (Stream<Object[]> rows = listingRepository.streamSimilarityFields(ListingStatus.AVAILABLE)) {
+            rows.forEach(row -> index((Long) row[0], (String) row[1], (String) row[2],
+                    (String) row[3], (BigDecimal) row[4]));
+        }
+        logger.info("Built similarity index for {} listings", size());
+    }
+
+    @TransactionalEventListener
+    public void onListingChange(ListingChangeEvent event) {
+        Listing listing = event.getListing();
+        if (event.getType() != ListingChangeEvent.Type.DELETED
+                && listing.getStatus() == ListingStatus.AVAILABLE) {
+            index(listing.getId(), listing.getTitle(), listing.getDescription(),
+                    listing.getCategory(), listing.getPrice());
+        } else {
+            remove(listing.getId());
+        }
+    }
+
+    public List<Long> findSimilar(Long listingId, int limit) {
+        List<Long> cached = cache.get(listingId);
+        if (cached == null) {
+            cached = computeSimilar(listingId);
+        }
+        return cached.size() > limit ? cached.subList(0, limit) : cached;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return termCounts.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Results for indexed listings are cached before the read lock is released.
+    // Invalidation takes the write lock, so a change can't land between computing a
+    // result and caching it. Unknown ids are not cached.
+    private List<Long> computeSimilar(Long listingId) {
+        lock.readLock().lock();
+        try {
+            Map<String, Integer> query = termCounts.get(listingId);
+            if (query == null) {
+                return Collections.emptyList();
+            }
+
+            int documents = termCounts.size();
+            Map<String, Double> queryWeights = weigh(query, documents);
+            List<Map.Entry<String, Double>> strongest = new ArrayList<>(queryWeights.entrySet());
+            strongest.sort(Map.Entry.<String, Double>comparingByValue().reversed());
+            if (strongest.size() > maxQueryTerms) {
+                strongest = strongest.subList(0, maxQueryTerms);
+            }
+
+            // Accumulate partial dot products over the postings of the strongest terms
+            Map<Long, Double> dotProducts = new HashMap<>();
+            for (Map.Entry<String, Double> term : strongest) {
+                Set<Long> posting = postings.get(term.getKey());
+                double idf = idf(term.getKey(), documents);
+                Set<Long> walked = new HashSet<>();
+                for (Long candidate : posting) {
+                    if (dotProducts.size() >= maxCandidates && posting.size() > maxCandidates) {
+                        break;
+                    }
+                    walked.add(candidate);
+                    if (candidate.equals(listingId)
+                            || (!dotProducts.containsKey(candidate) && dotProducts.size() >= maxCandidates)) {
+                        continue;
+                    }
+                    double weight = tf(termCounts.get(candidate).get(term.getKey())) * idf;
+                    dotProducts.merge(candidate, term.getValue() * weight, Double::sum);
+                }
+                if (walked.size() < posting.size()) {
+                    // A common term (cat:, price:) once the candidates are full: only those can
+                    // still gain, so look the term up in each rather than walk its postings
+                    for (Map.Entry<Long, Double> entry : dotProducts.entrySet()) {
+                        Integer count = termCounts.get(entry.getKey()).get(term.getKey());
+                        if (count != null && !walked.contains(entry.getKey())) {
+                            entry.setValue(entry.getValue() + term.getValue() * tf(count) * idf);
+                        }
+                    }
+                }
+            }
+
+            double queryNorm = norm(queryWeights.values());
+            PriorityQueue<Map.Entry<Long, Double>> top = new PriorityQueue<>(Map.Entry.comparingByValue());
+            for (Map.Entry<Long, Double> entry : dotProducts.entrySet()) {
+                double candidateNorm = norm(weigh(termCounts.get(entry.getKey()), documents).values());
+                double cosine = entry.getValue() / (queryNorm * candidateNorm);
+                top.offer(Map.entry(entry.getKey(), cosine));
+                if (top.size() > maxResults) {
+                    top.poll();
+                }
+            }
+
+            List<Map.Entry<Long, Double>> ranked = new ArrayList<>(top);
+            ranked.sort(Map.Entry.<Long, Double>comparingByValue().reversed()
+                    .thenComparing(Map.Entry.comparingByKey(Comparator.reverseOrder())));
+            List<Long> result = new ArrayList<>(ranked.size());
+            for (Map.Entry<Long, Double> entry : ranked) {
+                result.add(entry.getKey());
+            }
+            List<Long> similar = Collections.unmodifiableList(result);
+            if (cache.size() >= maxCachedResults) {
+                cache.clear();
+            }
+            cache.put(listingId, similar);
+            return similar;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private void index(Long listingId, String title, String description, String category, BigDecimal price) {
+        Map<String, Integer> counts = new HashMap<>();
+        for (String token : TextTokenizer.tokenize(title)) {
+            counts.merge(token, TITLE_BOOST, Integer::sum);
+        }
+        for (String token : TextTokenizer.tokenize(description)) {
+            counts.merge(token, 1, Integer::sum);
+        }
+        if (category != null) {
+            counts.merge(CATEGORY_PREFIX + category.toLowerCase(Locale.ROOT), 1, Integer::sum);
+        }
+        if (price != null) {
+            counts.merge(PRICE_PREFIX + PriceBuckets.bucketOf(price), 1, Integer::sum);
+        }
+
+        lock.writeLock().lock();
+        try {
+            unindex(listingId);
+            termCounts.put(listingId, counts);
+            for (String term : counts.keySet()) {
+                postings.computeIfAbsent(term, t -> new HashSet<>()).add(listingId);
+            }
+            invalidate(listingId, counts.keySet());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private void remove(Long listingId) {
+        lock.writeLock().lock();
+        try {
+            Map<String, Integer> removed = unindex(listingId);
+            if (removed != null) {
+                invalidate(listingId, removed.keySet());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // Caller must hold the write lock
+    private Map<String, Integer> unindex(Long listingId) {
+        Map<String, Integer> previous = termCounts.remove(listingId);
+        if (previous != null) {
+            for (String term : previous.keySet()) {
+                Set<Long> docs = postings.get(term);
+                docs.remove(listingId);
+                if (docs.isEmpty()) {
+                    postings.remove(term);
+                }
+            }
+            invalidate(listingId, previous.keySet());
+        }
+        return previous;
+    }
+
+    // Only listings sharing a term with the changed listing can see their results change
+    private void invalidate(Long listingId, Set<String> terms) {
+        cache.remove(listingId);
+        for (String term : terms) {
+            Set<Long> docs = postings.get(term);
+            if (docs == null || cache.isEmpty()) {
+                continue;
+            }
+            // Walk whichever side is smaller; category and price terms have long postings
+            if (docs.size() <= cache.size()) {
+                docs.forEach(cache::remove);
+            } else {
+                cache.keySet().removeIf(docs::contains);
+            }
+        }
+    }
+
+    private Map<String, Double> weigh(Map<String, Integer> counts, int documents) {
+        Map<String, Double> weights = new HashMap<>();
+        for (Map.Entry<String, Integer> entry : counts.entrySet()) {
+            weights.put(entry.getKey(), tf(entry.getValue()) * idf(entry.getKey(), documents));
+        }
+        return weights;
+    }
+
+    private double idf(String term, int documents) {
+        Set<Long> docs = postings.get(term);
+        int df = docs != null ? docs.size() : 0;
+        return Math.log((documents + 1.0) / (df + 1.0)) + 1.0;
+    }
+
+    private static double tf(int count) {
+        return 1.0 + Math.log(count);
+    }
+
+    private static double norm(Iterable<Double> weights) {
+        double sum = 0;
+        for (double weight : weights) {
+            sum += weight * weight;
+        }
+        return Math.sqrt(sum);
+    }
+}
@@ -0,0 +1,147 @@
+package com.sjsu.marketplace.sjsu_marketplace.service;
+
+import com.sjsu.marketplace.sjsu_marketplace.event.ListingChangeEvent;
+import com.sjsu.marketplace.sjsu_marketplace.model.Listing;
+import com.sjsu.marketplace.sjsu_marketplace.model.ListingStatus;
+import com.sjsu.marketplace.sjsu_marketplace.model.ListingViewCount;
+import com.sjsu.marketplace.sjsu_marketplace.repository.ListingViewCountRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionException;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+// Counts listing views in striped in-memory counters and flushes them to
+// listing_views in batched upserts, so a detail page view never writes to MySQL.
+@Service
+public class ListingViewService {
+    private static final Logger logger = LoggerFactory.getLogger(ListingViewService.class);
+
+    private static final String UPSERT_SQL =
+            "INSERT INTO listing_views (listing_id, view_count, updated_at) VALUES (?, ?, NOW()) " +
+            "ON DUPLICATE KEY UPDATE view_count = view_count + VALUES(view_count), updated_at = NOW()";
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private ListingViewCountRepository listingViewCountRepository;
+
+    @Autowired
+    private TrendingService trendingService;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Value("${views.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    private final Map<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final Map<Long, String> pendingCategories = new ConcurrentHashMap<>();
+    private TransactionTemplate batchTransaction;
+
+    @PostConstruct
+    public void init() {
+        batchTransaction = new TransactionTemplate(transactionManager);
+    }
+
+    public void recordView(Listing listing) {
+        recordView(listing.getId());
+        if (listing.getStatus() == ListingStatus.AVAILABLE) {
+            pendingCategories.put(listing.getId(), listing.getCategory());
+        }
+    }
+
+    // For views answered from the client's cache, where the listing is not loaded
+    public void recordView(Long listingId) {
+        pending.computeIfAbsent(listingId, id -> new LongAdder()).increment();
+    }
+
+    public long getViewCount(Long listingId) {
+        long stored = listingViewCountRepository.findById(listingId)
+                .map(ListingViewCount::getViewCount)
+                .orElse(0L);
+        LongAdder unflushed = pending.get(listingId);
+        return stored + (unflushed != null ? unflushed.sum() : 0);
+    }
+
+    @Scheduled(fixedDelayString = "${views.flush-interval-ms:10000}")
+    public void flush() {
+        Map<Long, Long> deltas = new HashMap<>();
+        Map<Long, String> categories = new HashMap<>();
+        for (Map.Entry<Long, LongAdder> entry : pending.entrySet()) {
+            long views = entry.getValue().sumThenReset();
+            if (views > 0) {
+                deltas.put(entry.getKey(), views);
+                String category = pendingCategories.remove(entry.getKey());
+                if (category != null) {
+                    categories.put(entry.getKey(), category);
+                }
+            }
+        }
+        if (deltas.isEmpty()) {
+            return;
+        }
+
+        List<Object[]> rows = new ArrayList<>(deltas.size());
+        deltas.forEach((listingId, views) -> rows.add(new Object[]{listingId, views}));
+        Map<Long, Long> written = new HashMap<>();
+        for (int from = 0; from < rows.size(); from += flushBatchSize) {
+            List<Object[]> batch = rows.subList(from, Math.min(from + flushBatchSize, rows.size()));
+            try {
+                // One transaction per batch: with rewritten batches under autocommit a
+                // failure could leave part of it applied, and the retry would count it twice
+                batchTransaction.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPSERT_SQL, batch));
+                batch.forEach(row -> written.put((Long) row[0], (Long) row[1]));
+            } catch (DataAccessException | TransactionException e) {
+                // Put the unwritten views back so the next flush retries them
+                for (Object[] row : rows.subList(from, rows.size())) {
+                    pending.computeIfAbsent((Long) row[0], id -> new LongAdder()).add((Long) row[1]);
+                    String category = categories.remove(row[0]);
+                    if (category != null) {
+                        pendingCategories.putIfAbsent((Long) row[0], category);
+                    }
+                }
+                logger.warn("Failed to flush view counts, will retry: {}", e.getMessage());
+                break;
+            }
+        }
+
+        // Only what was written; the rest reaches trending when the retry succeeds
+        if (!written.isEmpty()) {
+            trendingService.recordViews(written, categories, System.currentTimeMillis());
+        }
+        logger.debug("Flushed view counts for {} listings", written.size());
+    }
+
+    // Idle counters stay in the map: removing one could race with a view that has
+    // already looked it up, and that view would be lost. They go with the listing.
+    @TransactionalEventListener
+    public void onListingChange(ListingChangeEvent event) {
+        if (event.getType() == ListingChangeEvent.Type.DELETED) {
+            pending.remove(event.getListing().getId());
+            pendingCategories.remove(event.getListing().getId());
+        }
+    }
+
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+}
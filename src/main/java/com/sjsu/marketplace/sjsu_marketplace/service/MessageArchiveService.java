@@ -0,0 +1,391 @@
+package com.sjsu.marketplace.sjsu_marketplace.service;
+
+import com.sjsu.marketplace.sjsu_marketplace.model.ArchivedMessage;
+import com.sjsu.marketplace.sjsu_marketplace.repository.MessageRepository;
+import jakarta.annotation.PostConstruct;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+// Moves old, read messages out of the messages table into append-only segment
+// files. Each archive run writes one deflate-compressed block per conversation.
+// A fixed-size record per block goes into an index log, which is loaded into
+// memory at startup: per conversation, the segment, offset and id range of every
+// block. Reads map the segment and inflate only the blocks they need. Blocks are
+// written and forced to disk before their rows are deleted. A crash in between
+// archives those messages twice, and reads drop the duplicates by id.
+@Service
+public class MessageArchiveService {
+    private static final Logger logger = LoggerFactory.getLogger(MessageArchiveService.class);
+
+    private static final String SELECT_SQL =
+            "SELECT id, sender_id, receiver_id, listing_id, content, message_read, created_at " +
+            "FROM messages WHERE created_at < ? AND message_read = TRUE ORDER BY id LIMIT ?";
+
+    private static final String INDEX_FILE = "index.log";
+    // low user, high user, segment, offset, length, first id, last id, count, last created
+    private static final int INDEX_RECORD_BYTES = 8 + 8 + 4 + 8 + 4 + 8 + 8 + 4 + 8;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private MessageRepository messageRepository;
+
+    @Value("${archive.dir:./archive/messages}")
+    private String archiveDir;
+
+    @Value("${archive.message-age-days:180}")
+    private int messageAgeDays;
+
+    @Value("${archive.batch-size:1000}")
+    private int batchSize;
+
+    @Value("${archive.max-batches-per-run:50}")
+    private int maxBatchesPerRun;
+
+    @Value("${archive.segment-max-bytes:67108864}")
+    private long segmentMaxBytes;
+
+    private final ReentrantLock writeLock = new ReentrantLock();
+    // Conversation key -> its blocks ordered by last id; lists are replaced, never mutated.
+    // Not write order: a message read late is archived after newer ones, so a later
+    // block can hold lower ids than an earlier one.
+    private final Map<String, List<IndexEntry>> index = new ConcurrentHashMap<>();
+    private final Map<Integer, MappedByteBuffer> mappedSegments = new ConcurrentHashMap<>();
+    private int currentSegment;
+
+    @PostConstruct
+    public void loadIndex() throws IOException {
+        Path dir = Paths.get(archiveDir).toAbsolutePath().normalize();
+        Files.createDirectories(dir);
+        Path indexPath = dir.resolve(INDEX_FILE);
+        if (!Files.exists(indexPath)) {
+            return;
+        }
+        int entries = 0;
+        try (FileChannel channel = FileChannel.open(indexPath, StandardOpenOption.READ)) {
+            // A torn record at the end (crash mid-append) is ignored
+            long complete = channel.size() - channel.size() % INDEX_RECORD_BYTES;
+            ByteBuffer record = ByteBuffer.allocate(INDEX_RECORD_BYTES);
+            for (long position = 0; position < complete; position += INDEX_RECORD_BYTES) {
+                record.clear();
+                channel.read(record, position);
+                record.flip();
+                IndexEntry entry = IndexEntry.read(record);
+                addToIndex(entry);
+                currentSegment = Math.max(currentSegment, entry.segment);
+                entries++;
+            }
+        }
+        logger.info("Loaded message archive index: {} blocks in {} conversations", entries, index.size());
+    }
+
+    @Scheduled(fixedDelayString = "${archive.interval-ms:3600000}",
+            initialDelayString = "${archive.interval-ms:3600000}")
+    public void archiveOldMessages() {
+        if (!writeLock.tryLock()) {
+            return;
+        }
+        try {
+            Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(messageAgeDays));
+            int archived = 0;
+            for (int batch = 0; batch < maxBatchesPerRun; batch++) {
+                List<ArchivedMessage> messages = jdbcTemplate.query(SELECT_SQL, (rs, rowNum) -> {
+                    ArchivedMessage message = new ArchivedMessage();
+                    message.setId(rs.getLong(1));
+                    message.setSenderId(rs.getLong(2));
+                    message.setReceiverId(rs.getLong(3));
+                    long listingId = rs.getLong(4);
+                    message.setListingId(rs.wasNull() ? null : listingId);
+                    message.setContent(rs.getString(5));
+                    message.setRead(rs.getBoolean(6));
+                    message.setCreatedAt(rs.getTimestamp(7).toLocalDateTime());
+                    return message;
+                }, cutoff, batchSize);
+                if (messages.isEmpty()) {
+                    break;
+                }
+                appendBlocks(messages);
+                messageRepository.deleteAllByIdInBatch(messages.stream().map(ArchivedMessage::getId).toList());
+                archived += messages.size();
+                if (messages.size() < batchSize) {
+                    break;
+                }
+            }
+            if (archived > 0) {
+                logger.info("Archived {} messages older than {} days", archived, messageAgeDays);
+            }
+        } catch (IOException e) {
+            logger.warn("Message archiving stopped: {}", e.getMessage());
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    // Archived messages between two users, newest first, older than beforeId when given
+    public List<ArchivedMessage> getConversation(Long userId1, Long userId2, Long beforeId, int limit) {
+        List<IndexEntry> blocks = index.getOrDefault(conversationKey(userId1, userId2), Collections.emptyList());
+        List<ArchivedMessage> result = new ArrayList<>();
+        Set<Long> seen = new HashSet<>();
+        // Walk from the block with the highest last id down. Once limit messages are
+        // found, a block whose last id is below the limit-th one can't add to the page,
+        // and neither can any block after it.
+        for (int i = blocks.size() - 1; i >= 0; i--) {
+            IndexEntry block = blocks.get(i);
+            if (beforeId != null && block.firstId >= beforeId) {
+                continue;
+            }
+            if (result.size() >= limit && result.get(limit - 1).getId() > block.lastId) {
+                break;
+            }
+            for (ArchivedMessage message : readBlock(block)) {
+                if ((beforeId == null || message.getId() < beforeId) && seen.add(message.getId())) {
+                    result.add(message);
+                }
+            }
+            result.sort(Comparator.comparing(ArchivedMessage::getId).reversed());
+        }
+        return result.size() > limit ? new ArrayList<>(result.subList(0, limit)) : result;
+    }
+
+    // Caller holds the write lock
+    private void appendBlocks(List<ArchivedMessage> messages) throws IOException {
+        Map<String, List<ArchivedMessage>> byConversation = new LinkedHashMap<>();
+        for (ArchivedMessage message : messages) {
+            byConversation.computeIfAbsent(conversationKey(message.getSenderId(), message.getReceiverId()),
+                    key -> new ArrayList<>()).add(message);
+        }
+
+        Path dir = Paths.get(archiveDir).toAbsolutePath().normalize();
+        Path segmentPath = segmentPath(currentSegment);
+        if (Files.exists(segmentPath) && Files.size(segmentPath) >= segmentMaxBytes) {
+            currentSegment++;
+            segmentPath = segmentPath(currentSegment);
+        }
+
+        List<IndexEntry> written = new ArrayList<>();
+        try (FileChannel segment = FileChannel.open(segmentPath,
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            for (List<ArchivedMessage> conversation : byConversation.values()) {
+                byte[] block = compress(encode(conversation));
+                long offset = segment.size();
+                ByteBuffer buffer = ByteBuffer.wrap(block);
+                while (buffer.hasRemaining()) {
+                    segment.write(buffer);
+                }
+                ArchivedMessage first = conversation.get(0);
+                ArchivedMessage last = conversation.get(conversation.size() - 1);
+                written.add(new IndexEntry(
+                        Math.min(first.getSenderId(), first.getReceiverId()),
+                        Math.max(first.getSenderId(), first.getReceiverId()),
+                        currentSegment, offset, block.length, first.getId(), last.getId(), conversation.size(),
+                        last.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli()));
+            }
+            segment.force(true);
+        }
+
+        try (FileChannel indexChannel = FileChannel.open(dir.resolve(INDEX_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND)) {
+            ByteBuffer records = ByteBuffer.allocate(written.size() * INDEX_RECORD_BYTES);
+            written.forEach(entry -> entry.write(records));
+            records.flip();
+            while (records.hasRemaining()) {
+                indexChannel.write(records);
+            }
+            indexChannel.force(true);
+        }
+        written.forEach(this::addToIndex);
+    }
+
+    private void addToIndex(IndexEntry entry) {
+        index.compute(entry.lowUserId + ":" + entry.highUserId, (key, blocks) -> {
+            List<IndexEntry> next = blocks != null ? new ArrayList<>(blocks) : new ArrayList<>();
+            int at = next.size();
+            while (at > 0 && next.get(at - 1).lastId > entry.lastId) {
+                at--;
+            }
+            next.add(at, entry);
+            return Collections.unmodifiableList(next);
+        });
+    }
+
+    private List<ArchivedMessage> readBlock(IndexEntry block) {
+        try {
+            MappedByteBuffer mapped = mappedSegments.get(block.segment);
+            if (mapped == null || mapped.capacity() < block.offset + block.length) {
+                // The newest segment grows, so remap it when a block lies past the old mapping
+                try (FileChannel channel = FileChannel.open(segmentPath(block.segment), StandardOpenOption.READ)) {
+                    mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                }
+                mappedSegments.put(block.segment, mapped);
+            }
+            byte[] compressed = new byte[block.length];
+            mapped.get((int) block.offset, compressed);
+            return decode(decompress(compressed));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private Path segmentPath(int segment) {
+        return Paths.get(archiveDir).toAbsolutePath().normalize().resolve(String.format("segment-%06d.dat", segment));
+    }
+
+    private static String conversationKey(Long userId1, Long userId2) {
+        return Math.min(userId1, userId2) + ":" + Math.max(userId1, userId2);
+    }
+
+    private static byte[] encode(List<ArchivedMessage> messages) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(messages.size());
+        for (ArchivedMessage message : messages) {
+            out.writeLong(message.getId());
+            out.writeLong(message.getSenderId());
+            out.writeLong(message.getReceiverId());
+            out.writeLong(message.getListingId() != null ? message.getListingId() : -1);
+            out.writeBoolean(message.isRead());
+            out.writeLong(message.getCreatedAt().toInstant(ZoneOffset.UTC).toEpochMilli());
+            byte[] content = message.getContent().getBytes(StandardCharsets.UTF_8);
+            out.writeInt(content.length);
+            out.write(content);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static List<ArchivedMessage> decode(byte[] data) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        int count = in.readInt();
+        List<ArchivedMessage> messages = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            ArchivedMessage message = new ArchivedMessage();
+            message.setId(in.readLong());
+            message.setSenderId(in.readLong());
+            message.setReceiverId(in.readLong());
+            long listingId = in.readLong();
+            message.setListingId(listingId >= 0 ? listingId : null);
+            message.setRead(in.readBoolean());
+            message.setCreatedAt(LocalDateTime.ofInstant(Instant.ofEpochMilli(in.readLong()), ZoneOffset.UTC));
+            byte[] content = new byte[in.readInt()];
+            in.readFully(content);
+            message.setContent(new String(content, StandardCharsets.UTF_8));
+            messages.add(message);
+        }
+        return messages;
+    }
+
+    // Block layout: uncompressed length, then the deflated bytes
+    private static byte[] compress(byte[] data) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(data);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(data.length / 2 + 16);
+            new DataOutputStream(out).writeInt(data.length);
+            byte[] buffer = new byte[8192];
+            while (!deflater.finished()) {
+                out.write(buffer, 0, deflater.deflate(buffer));
+            }
+            return out.toByteArray();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        } finally {
+            deflater.end();
+        }
+    }
+
+    private static byte[] decompress(byte[] block) throws IOException {
+        ByteBuffer header = ByteBuffer.wrap(block, 0, 4);
+        byte[] data = new byte[header.getInt()];
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(block, 4, block.length - 4);
+            int read = 0;
+            while (read < data.length && !inflater.finished()) {
+                int n = inflater.inflate(data, read, data.length - read);
+                if (n == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+                    throw new IOException("Truncated archive block");
+                }
+                read += n;
+            }
+            return data;
+        } catch (DataFormatException e) {
+            throw new IOException("Corrupt archive block", e);
+        } finally {
+            inflater.end();
+        }
+    }
+
+    private static class IndexEntry {
+        private final long lowUserId;
+        private final long highUserId;
+        private final int segment;
+        private final long offset;
+        private final int length;
+        private final long firstId;
+        private final long lastId;
+        private final int count;
+        private final long lastCreatedMillis;
+
+        IndexEntry(long lowUserId, long highUserId, int segment, long offset, int length,
+                   long firstId, long lastId, int count, long lastCreatedMillis) {
+            this.lowUserId = lowUserId;
+            this.highUserId = highUserId;
+            this.segment = segment;
+            this.offset = offset;
+            this.length = length;
+            this.firstId = firstId;
+            this.lastId = lastId;
+            this.count = count;
+            this.lastCreatedMillis = lastCreatedMillis;
+        }
+
+        static IndexEntry read(ByteBuffer buffer) {
+            return new IndexEntry(buffer.getLong(), buffer.getLong(), buffer.getInt(), buffer.getLong(),
+                    buffer.getInt(), buffer.getLong(), buffer.getLong(), buffer.getInt(), buffer.getLong());
+        }
+
+        void write(ByteBuffer buffer) {
+            buffer.putLong(lowUserId).putLong(highUserId).putInt(segment).putLong(offset).putInt(length)
+                    .putLong(firstId).putLong(lastId).putInt(count).putLong(lastCreatedMillis);
+        }
+    }
+}
\ No newline at end of file
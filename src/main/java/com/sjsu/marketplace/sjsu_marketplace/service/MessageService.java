@@ -4,6 +4,7 @@ import com.sjsu.marketplace.sjsu_marketplace.model.Listing;
 import com.sjsu.marketplace.sjsu_marketplace.model.Message;
 import com.sjsu.marketplace.sjsu_marketplace.model.User;
 import com.sjsu.marketplace.sjsu_marketplace.repository.MessageRepository;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
@@ -36,17 +37,21 @@ public class MessageService {
         message.setListing(listing);
         message.setContent(content);
 
-        return messageRepository.save(message);
+        return loadForView(messageRepository.save(message));
     }
 
     @Transactional(readOnly = true)
     public Page<Message> getUserMessages(User user, Pageable pageable) {
-        return messageRepository.findUserMessages(user, pageable);
+        Page<Message> page = messageRepository.findUserMessages(user, pageable);
+        page.getContent().forEach(MessageService::loadForView);
+        return page;
     }
 
     @Transactional(readOnly = true)
     public List<Message> getConversation(User user1, User user2) {
-        return messageRepository.findConversation(user1, user2);
+        List<Message> messages = messageRepository.findConversation(user1, user2);
+        messages.forEach(MessageService::loadForView);
+        return messages;
     }
 
     @Transactional
@@ -61,4 +66,14 @@ public class MessageService {
     public long getUnreadMessageCount(User user) {
         return messageRepository.countUnreadMessages(user);
     }
-} 
\ No newline at end of file
+
+    // Loaded inside the transaction; the JSON view runs after the session is closed
+    private static Message loadForView(Message message) {
+        message.setSender((User) Hibernate.unproxy(message.getSender()));
+        message.setReceiver((User) Hibernate.unproxy(message.getReceiver()));
+        if (message.getListing() != null) {
+            message.setListing(ListingService.loadForView((Listing) Hibernate.unproxy(message.getListing())));
+        }
+        return message;
+    }
+}
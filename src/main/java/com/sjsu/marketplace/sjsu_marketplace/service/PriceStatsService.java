@@ -0,0 +1,191 @@
+package com.sjsu.marketplace.sjsu_marketplace.service;
+
+import com.sjsu.marketplace.sjsu_marketplace.event.ListingChangeEvent;
+import com.sjsu.marketplace.sjsu_marketplace.model.Listing;
+import com.sjsu.marketplace.sjsu_marketplace.model.ListingStatus;
+import com.sjsu.marketplace.sjsu_marketplace.model.PriceSketchKind;
+import com.sjsu.marketplace.sjsu_marketplace.model.PriceSketchSnapshot;
+import com.sjsu.marketplace.sjsu_marketplace.repository.ListingRepository;
+import com.sjsu.marketplace.sjsu_marketplace.repository.PriceSketchSnapshotRepository;
+import com.sjsu.marketplace.sjsu_marketplace.util.KllSketch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+@Service
+public class PriceStatsService {
+    private static final Logger logger = LoggerFactory.getLogger(PriceStatsService.class);
+
+    @Autowired
+    private ListingRepository listingRepository;
+
+    @Autowired
+    private PriceSketchSnapshotRepository snapshotRepository;
+
+    @Value("${price-stats.sketch-size:200}")
+    private int sketchSize;
+
+    // ASKING is fed by every new listing, SOLD by transitions into SOLD
+    private final Map<PriceSketchKind, Map<String, GuardedSketch>> sketches = new EnumMap<>(PriceSketchKind.class);
+    private final Map<PriceSketchKind, Set<String>> dirty = new EnumMap<>(PriceSketchKind.class);
+
+    public PriceStatsService() {
+        for (PriceSketchKind kind : PriceSketchKind.values()) {
+            sketches.put(kind, new ConcurrentHashMap<>());
+            dirty.put(kind, ConcurrentHashMap.newKeySet());
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional
+    public void loadSnapshots() {
+        List<PriceSketchSnapshot> snapshots = snapshotRepository.findAll();
+        if (!snapshots.isEmpty()) {
+            for (PriceSketchSnapshot snapshot : snapshots) {
+                sketches.get(snapshot.getKind()).put(snapshot.getCategory(),
+                        new GuardedSketch(KllSketch.fromBytes(snapshot.getData())));
+            }
+            logger.info("Loaded {} price sketch snapshots", snapshots.size());
+            return;
+        }
+
+        // First start: build the sketches with one streaming pass over the catalog
+        try (Stream<Object[]> rows = listingRepository.streamCategoryPrices()) {
+            rows.forEach(row -> {
+                String category = (String) row[0];
+                BigDecimal price = (BigDecimal) row[1];
+                record(PriceSketchKind.ASKING, category, price);
+                if (row[2] == ListingStatus.SOLD) {
+                    record(PriceSketchKind.SOLD, category, price);
+                }
+            });
+        }
+        persistSnapshots();
+    }
+
+    @TransactionalEventListener
+    public void onListingChange(ListingChangeEvent event) {
+        Listing listing = event.getListing();
+        if (event.getType() == ListingChangeEvent.Type.CREATED) {
+            record(PriceSketchKind.ASKING, listing.getCategory(), listing.getPrice());
+        } else if (event.getType() == ListingChangeEvent.Type.STATUS_CHANGED
+                && listing.getStatus() == ListingStatus.SOLD) {
+            record(PriceSketchKind.SOLD, listing.getCategory(), listing.getPrice());
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${price-stats.snapshot-interval-ms:600000}",
+            initialDelayString = "${price-stats.snapshot-interval-ms:600000}")
+    @Transactional
+    public void persistSnapshots() {
+        int written = 0;
+        for (PriceSketchKind kind : PriceSketchKind.values()) {
+            Set<String> dirtyCategories = dirty.get(kind);
+            for (String category : new ArrayList<>(dirtyCategories)) {
+                dirtyCategories.remove(category);
+                GuardedSketch guarded = sketches.get(kind).get(category);
+                byte[] data;
+                long count;
+                guarded.lock.lock();
+                try {
+                    data = guarded.sketch.toBytes();
+                    count = guarded.sketch.getCount();
+                } finally {
+                    guarded.lock.unlock();
+                }
+
+                PriceSketchSnapshot snapshot = snapshotRepository.findByCategoryAndKind(category, kind)
+                        .orElseGet(PriceSketchSnapshot::new);
+                snapshot.setCategory(category);
+                snapshot.setKind(kind);
+                snapshot.setData(data);
+                snapshot.setItemCount(count);
+                snapshotRepository.save(snapshot);
+                written++;
+            }
+        }
+        if (written > 0) {
+            logger.debug("Persisted {} price sketch snapshots", written);
+        }
+    }
+
+    public Map<String, Object> getPriceStats(String category) {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("category", category);
+        for (PriceSketchKind kind : PriceSketchKind.values()) {
+            stats.put(kind.name().toLowerCase(), summarize(sketches.get(kind).get(category)));
+        }
+        return stats;
+    }
+
+    private Map<String, Object> summarize(GuardedSketch guarded) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        if (guarded == null) {
+            summary.put("count", 0L);
+            return summary;
+        }
+        KllSketch sketch = guarded.sketch;
+        guarded.lock.lock();
+        try {
+            summary.put("count", sketch.getCount());
+            if (!sketch.isEmpty()) {
+                summary.put("p25", toPrice(sketch.quantile(0.25)));
+                summary.put("p50", toPrice(sketch.quantile(0.50)));
+                summary.put("p75", toPrice(sketch.quantile(0.75)));
+            }
+        } finally {
+            guarded.lock.unlock();
+        }
+        return summary;
+    }
+
+    private void record(PriceSketchKind kind, String category, BigDecimal price) {
+        if (category == null || price == null) {
+            return;
+        }
+        GuardedSketch guarded = sketches.get(kind)
+                .computeIfAbsent(category, c -> new GuardedSketch(new KllSketch(sketchSize)));
+        guarded.lock.lock();
+        try {
+            guarded.sketch.update(price.doubleValue());
+        } finally {
+            guarded.lock.unlock();
+        }
+        dirty.get(kind).add(category);
+    }
+
+    private static BigDecimal toPrice(double value) {
+        return BigDecimal.valueOf(value).setScale(2, RoundingMode.HALF_UP);
+    }
+
+    // KllSketch is not thread-safe. Each sketch has its own lock, so categories don't
+    // contend; a lock rather than synchronized, since a virtual thread waiting on a
+    // contended monitor pins its carrier.
+    private static class GuardedSketch {
+        private final KllSketch sketch;
+        private final ReentrantLock lock = new ReentrantLock();
+
+        GuardedSketch(KllSketch sketch) {
+            this.sketch = sketch;
+        }
+    }
+}
@@ -0,0 +1,192 @@
+package com.sjsu.marketplace.sjsu_marketplace.service;
+
+import com.sjsu.marketplace.sjsu_marketplace.model.Listing;
+import com.sjsu.marketplace.sjsu_marketplace.util.TextTokenizer;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+// Percolator-style index over saved searches: the queries are indexed, and each new
+// listing is looked up against them. Every saved search is filed under exactly one
+// key (a keyword term, else its category, else its minimum price), so a listing only
+// has to verify the searches found under its own terms, category and price.
+@Component
+public class SavedSearchMatcher {
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, Subscription> subscriptions = new HashMap<>();
+    private final Map<String, Set<Long>> byTerm = new HashMap<>();
+    private final Map<String, Set<Long>> byCategory = new HashMap<>();
+    private final NavigableMap<BigDecimal, Set<Long>> byMinPrice = new TreeMap<>();
+
+    public void add(Long savedSearchId, Long userId, String keyword, String category,
+                    BigDecimal minPrice, BigDecimal maxPrice) {
+        Set<String> terms = new LinkedHashSet<>(TextTokenizer.tokenize(keyword));
+        Subscription subscription = new Subscription(savedSearchId, userId, terms,
+                category != null && !category.isBlank() ? category.toLowerCase(Locale.ROOT) : null,
+                minPrice, maxPrice);
+
+        lock.writeLock().lock();
+        try {
+            removeInternal(savedSearchId);
+            // A keyword of only stop words would otherwise constrain nothing and match
+            // every listing. New searches are rejected; older rows are left unindexed.
+            if (keyword != null && !keyword.isBlank() && terms.isEmpty()) {
+                return;
+            }
+            subscriptions.put(savedSearchId, subscription);
+            postingsFor(subscription).add(savedSearchId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long savedSearchId) {
+        lock.writeLock().lock();
+        try {
+            removeInternal(savedSearchId);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return subscriptions.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Returns the matching saved searches as {savedSearchId, userId} pairs
+    public List<Long[]> match(Listing listing) {
+        Set<String> tokens = new HashSet<>(TextTokenizer.tokenize(listing.getTitle()));
+        tokens.addAll(TextTokenizer.tokenize(listing.getDescription()));
+        String category = listing.getCategory() != null ? listing.getCategory().toLowerCase(Locale.ROOT) : null;
+        BigDecimal price = listing.getPrice();
+
+        List<Long[]> matches = new ArrayList<>();
+        lock.readLock().lock();
+        try {
+            Set<Long> candidates = new HashSet<>();
+            for (String token : tokens) {
+                addAll(candidates, byTerm.get(token));
+            }
+            if (category != null) {
+                addAll(candidates, byCategory.get(category));
+            }
+            if (price != null) {
+                for (Set<Long> ids : byMinPrice.headMap(price, true).values()) {
+                    candidates.addAll(ids);
+                }
+            }
+
+            for (Long id : candidates) {
+                Subscription subscription = subscriptions.get(id);
+                if (subscription.matches(tokens, category, price)) {
+                    matches.add(new Long[]{subscription.id, subscription.userId});
+                }
+            }
+        } finally {
+            lock.readLock().unlock();
+        }
+        return matches;
+    }
+
+    // Caller must hold the write lock
+    private void removeInternal(Long savedSearchId) {
+        Subscription previous = subscriptions.remove(savedSearchId);
+        if (previous == null) {
+            return;
+        }
+        Set<Long> ids = postingsFor(previous);
+        ids.remove(savedSearchId);
+        if (ids.isEmpty()) {
+            if (previous.anchorTerm() != null) {
+                byTerm.remove(previous.anchorTerm());
+            } else if (previous.category != null) {
+                byCategory.remove(previous.category);
+            } else {
+                byMinPrice.remove(previous.minPriceKey());
+            }
+        }
+    }
+
+    private Set<Long> postingsFor(Subscription subscription) {
+        String term = subscription.anchorTerm();
+        if (term != null) {
+            return byTerm.computeIfAbsent(term, t -> new HashSet<>());
+        }
+        if (subscription.category != null) {
+            return byCategory.computeIfAbsent(subscription.category, c -> new HashSet<>());
+        }
+        return byMinPrice.computeIfAbsent(subscription.minPriceKey(), p -> new HashSet<>());
+    }
+
+    private static void addAll(Set<Long> target, Collection<Long> ids) {
+        if (ids != null) {
+            target.addAll(ids);
+        }
+    }
+
+    private static class Subscription {
+        private final Long id;
+        private final Long userId;
+        private final Set<String> terms;
+        private final String category;
+        private final BigDecimal minPrice;
+        private final BigDecimal maxPrice;
+
+        Subscription(Long id, Long userId, Set<String> terms, String category,
+                     BigDecimal minPrice, BigDecimal maxPrice) {
+            this.id = id;
+            this.userId = userId;
+            this.terms = terms;
+            this.category = category;
+            this.minPrice = minPrice;
+            this.maxPrice = maxPrice;
+        }
+
+        // Longer terms tend to be rarer, so they make for shorter postings lists
+        String anchorTerm() {
+            String anchor = null;
+            for (String term : terms) {
+                if (anchor == null || term.length() > anchor.length()) {
+                    anchor = term;
+                }
+            }
+            return anchor;
+        }
+
+        BigDecimal minPriceKey() {
+            return minPrice != null ? minPrice : BigDecimal.ZERO;
+        }
+
+        boolean matches(Set<String> listingTokens, String listingCategory, BigDecimal price) {
+            if (!listingTokens.containsAll(terms)) {
+                return false;
+            }
+            if (category != null && !category.equals(listingCategory)) {
+                return false;
+            }
+            if (minPrice != null && (price == null || price.compareTo(minPrice) < 0)) {
+                return false;
+            }
+            return maxPrice == null || (price != null && price.compareTo(maxPrice) <= 0);
+        }
+    }
+}
@@ -0,0 +1,164 @@
+package com.sjsu.marketplace.sjsu_marketplace.service;
+
+import com.sjsu.marketplace.sjsu_marketplace.event.ListingChangeEvent;
+import com.sjsu.marketplace.sjsu_marketplace.event.SavedSearchChangeEvent;
+import com.sjsu.marketplace.sjsu_marketplace.model.Listing;
+import com.sjsu.marketplace.sjsu_marketplace.model.SavedSearch;
+import com.sjsu.marketplace.sjsu_marketplace.model.SavedSearchMatch;
+import com.sjsu.marketplace.sjsu_marketplace.model.User;
+import com.sjsu.marketplace.sjsu_marketplace.repository.ListingRepository;
+import com.sjsu.marketplace.sjsu_marketplace.repository.SavedSearchMatchRepository;
+import com.sjsu.marketplace.sjsu_marketplace.repository.SavedSearchRepository;
+import com.sjsu.marketplace.sjsu_marketplace.repository.UserRepository;
+import com.sjsu.marketplace.sjsu_marketplace.util.TextTokenizer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.stream.Stream;
+
+@Service
+public class SavedSearchService {
+    private static final Logger logger = LoggerFactory.getLogger(SavedSearchService.class);
+
+    @Autowired
+    private SavedSearchRepository savedSearchRepository;
+
+    @Autowired
+    private SavedSearchMatchRepository savedSearchMatchRepository;
+
+    @Autowired
+    private ListingRepository listingRepository;
+
+    @Autowired
+    private UserRepository userRepository;
+
+    @Autowired
+    private SavedSearchMatcher savedSearchMatcher;
+
+    @Autowired
+    private ApplicationEventPublisher eventPublisher;
+
+    @Value("${saved-search.max-per-user:50}")
+    private int maxPerUser;
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void buildIndex() {
+        try (Stream<Object[]> rows = savedSearchRepository.streamMatchFields()) {
+            rows.forEach(row -> savedSearchMatcher.add((Long) row[0], (Long) row[1], (String) row[2],
+                    (String) row[3], (BigDecimal) row[4], (BigDecimal) row[5]));
+        }
+        logger.info("Indexed {} saved searches", savedSearchMatcher.size());
+    }
+
+    @Transactional
+    public SavedSearch createSavedSearch(SavedSearch savedSearch, User user) {
+        boolean hasKeyword = savedSearch.getKeyword() != null && !savedSearch.getKeyword().isBlank();
+        boolean hasCategory = savedSearch.getCategory() != null && !savedSearch.getCategory().isBlank();
+        if (!hasKeyword && !hasCategory && savedSearch.getMinPrice() == null && savedSearch.getMaxPrice() == null) {
+            throw new RuntimeException("Saved search needs a keyword, category or price bound");
+        }
+        // Stop words and single characters are not indexed, so such a keyword could never match
+        if (hasKeyword && TextTokenizer.tokenize(savedSearch.getKeyword()).isEmpty()) {
+            throw new RuntimeException("Keyword has no searchable words");
+        }
+        if (savedSearch.getMinPrice() != null && savedSearch.getMaxPrice() != null
+                && savedSearch.getMinPrice().compareTo(savedSearch.getMaxPrice()) > 0) {
+            throw new RuntimeException("Minimum price is greater than maximum price");
+        }
+        if (savedSearchRepository.countByUser(user) >= maxPerUser) {
+            throw new RuntimeException("Saved search limit reached");
+        }
+
+        savedSearch.setId(null);
+        savedSearch.setUser(user);
+        SavedSearch saved = savedSearchRepository.save(savedSearch);
+        eventPublisher.publishEvent(SavedSearchChangeEvent.created(saved));
+        return saved;
+    }
+
+    @Transactional(readOnly = true)
+    public List<SavedSearch> getSavedSearches(User user) {
+        return savedSearchRepository.findByUserOrderByCreatedAtDesc(user);
+    }
+
+    @Transactional
+    public void deleteSavedSearch(Long savedSearchId, User user) {
+        SavedSearch savedSearch = savedSearchRepository.findByIdAndUser(savedSearchId, user)
+                .orElseThrow(() -> new RuntimeException("Saved search not found"));
+        savedSearchRepository.delete(savedSearch);
+        eventPublisher.publishEvent(SavedSearchChangeEvent.deleted(savedSearch));
+    }
+
+    // The index only follows committed rows, so a rolled-back create never matches
+    // and a rolled-back delete keeps matching
+    @TransactionalEventListener
+    public void onSavedSearchChange(SavedSearchChangeEvent event) {
+        SavedSearch savedSearch = event.getSavedSearch();
+        if (event.isDeleted()) {
+            savedSearchMatcher.remove(savedSearch.getId());
+        } else {
+            savedSearchMatcher.add(savedSearch.getId(), savedSearch.getUser().getId(), savedSearch.getKeyword(),
+                    savedSearch.getCategory(), savedSearch.getMinPrice(), savedSearch.getMaxPrice());
+        }
+    }
+
+    @Transactional(readOnly = true)
+    public Page<SavedSearchMatch> getMatches(User user, Pageable pageable) {
+        return savedSearchMatchRepository.findByUserOrderByCreatedAtDesc(user, pageable);
+    }
+
+    @Transactional(readOnly = true)
+    public long getUnseenMatchCount(User user) {
+        return savedSearchMatchRepository.countByUserAndIsSeenFalse(user);
+    }
+
+    @Transactional
+    public void markMatchAsSeen(Long matchId, User user) {
+        SavedSearchMatch match = savedSearchMatchRepository.findByIdAndUser(matchId, user)
+                .orElseThrow(() -> new RuntimeException("Match not found"));
+        match.setSeen(true);
+        savedSearchMatchRepository.save(match);
+    }
+
+    @TransactionalEventListener
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    public void onListingChange(ListingChangeEvent event) {
+        if (event.getType() != ListingChangeEvent.Type.CREATED) {
+            return;
+        }
+        Listing listing = event.getListing();
+        Long sellerId = listing.getSeller() != null ? listing.getSeller().getId() : null;
+
+        List<SavedSearchMatch> notifications = new ArrayList<>();
+        for (Long[] hit : savedSearchMatcher.match(listing)) {
+            if (Objects.equals(hit[1], sellerId)) {
+                continue;
+            }
+            SavedSearchMatch match = new SavedSearchMatch();
+            match.setSavedSearch(savedSearchRepository.getReferenceById(hit[0]));
+            match.setUser(userRepository.getReferenceById(hit[1]));
+            match.setListing(listingRepository.getReferenceById(listing.getId()));
+            notifications.add(match);
+        }
+        if (!notifications.isEmpty()) {
+            savedSearchMatchRepository.saveAll(notifications);
+            logger.debug("Listing {} matched {} saved searches", listing.getId(), notifications.size());
+        }
+    }
+}
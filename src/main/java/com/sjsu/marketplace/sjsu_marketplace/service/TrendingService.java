@@ -0,0 +1,162 @@
+package com.sjsu.marketplace.sjsu_marketplace.service;
+
+import com.sjsu.marketplace.sjsu_marketplace.event.ListingChangeEvent;
+import com.sjsu.marketplace.sjsu_marketplace.model.ListingStatus;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReentrantLock;
+
+// Time-decayed trending scores using forward decay: a view at time t adds
+// exp(lambda * (t - landmark)), so scores never need to be decayed in place and
+// an untouched listing can never overtake one that received new views. Readers
+// get an immutable top-k snapshot per category.
+@Service
+public class TrendingService {
+
+    public static final String ALL_CATEGORIES = "";
+
+    // Rescale every four half-lives, long before exp() could overflow a double
+    private static final double RESCALE_EXPONENT = 4 * Math.log(2);
+    // Listings whose decayed score drops below this many views are forgotten
+    private static final double MIN_DECAYED_SCORE = 0.05;
+
+    @Value("${trending.half-life-minutes:360}")
+    private double halfLifeMinutes;
+
+    @Value("${trending.top-k:50}")
+    private int topK;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Map<Long, Double> scores = new HashMap<>();
+    private final Map<Long, String> categories = new HashMap<>();
+    private long landmarkMillis = System.currentTimeMillis();
+
+    private volatile Map<String, List<Long>> snapshot = Collections.emptyMap();
+
+    // Applies a batch of view deltas (listing id -> views) observed at the given time
+    public void recordViews(Map<Long, Long> deltas, Map<Long, String> deltaCategories, long nowMillis) {
+        lock.lock();
+        try {
+            if (exponent(nowMillis) > RESCALE_EXPONENT) {
+                rescale(nowMillis);
+            }
+            double weight = Math.exp(exponent(nowMillis));
+
+            Set<String> touched = new HashSet<>();
+            for (Map.Entry<Long, Long> delta : deltas.entrySet()) {
+                // Views answered with 304 come without a category. A listing that is
+                // already scored is known to be AVAILABLE, so its category still applies.
+                String category = deltaCategories.getOrDefault(delta.getKey(), categories.get(delta.getKey()));
+                if (category == null) {
+                    continue;
+                }
+                scores.merge(delta.getKey(), delta.getValue() * weight, Double::sum);
+                categories.put(delta.getKey(), category);
+                touched.add(category);
+            }
+            if (touched.isEmpty()) {
+                return;
+            }
+            touched.add(ALL_CATEGORIES);
+
+            Map<String, List<Long>> next = new HashMap<>(snapshot);
+            for (String category : touched) {
+                Set<Long> candidates = new HashSet<>(next.getOrDefault(category, Collections.emptyList()));
+                for (Long id : deltas.keySet()) {
+                    if (category.equals(ALL_CATEGORIES) || category.equals(categories.get(id))) {
+                        candidates.add(id);
+                    }
+                }
+                next.put(category, rank(candidates));
+            }
+            snapshot = Collections.unmodifiableMap(next);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public void remove(Long listingId) {
+        lock.lock();
+        try {
+            String category = categories.remove(listingId);
+            if (scores.remove(listingId) == null) {
+                return;
+            }
+            // The removed listing leaves a hole, so rebuild the affected lists from all scores
+            Map<String, List<Long>> next = new HashMap<>(snapshot);
+            next.put(ALL_CATEGORIES, rank(scores.keySet()));
+            if (category != null) {
+                Set<Long> inCategory = new HashSet<>();
+                categories.forEach((id, c) -> {
+                    if (c.equals(category)) {
+                        inCategory.add(id);
+                    }
+                });
+                next.put(category, rank(inCategory));
+            }
+            snapshot = Collections.unmodifiableMap(next);
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public List<Long> getTrending(String category, int limit) {
+        List<Long> ids = snapshot.getOrDefault(category != null ? category : ALL_CATEGORIES, Collections.emptyList());
+        return ids.size() > limit ? ids.subList(0, limit) : ids;
+    }
+
+    @TransactionalEventListener
+    public void onListingChange(ListingChangeEvent event) {
+        if (event.getType() == ListingChangeEvent.Type.DELETED
+                || event.getListing().getStatus() != ListingStatus.AVAILABLE) {
+            remove(event.getListing().getId());
+        }
+    }
+
+    // Caller must hold the lock
+    private List<Long> rank(Set<Long> candidates) {
+        List<Long> ranked = new ArrayList<>(candidates);
+        ranked.sort((a, b) -> Double.compare(scores.getOrDefault(b, 0.0), scores.getOrDefault(a, 0.0)));
+        if (ranked.size() > topK) {
+            ranked = ranked.subList(0, topK);
+        }
+        return Collections.unmodifiableList(new ArrayList<>(ranked));
+    }
+
+    // Caller must hold the lock. Moves the landmark to now, which divides every
+    // score by the same factor and keeps the ordering intact, then drops
+    // listings nobody has looked at in a while and rebuilds the snapshot.
+    private void rescale(long nowMillis) {
+        double factor = Math.exp(-exponent(nowMillis));
+        landmarkMillis = nowMillis;
+        scores.replaceAll((id, score) -> score * factor);
+        scores.entrySet().removeIf(entry -> {
+            boolean forgotten = entry.getValue() < MIN_DECAYED_SCORE;
+            if (forgotten) {
+                categories.remove(entry.getKey());
+            }
+            return forgotten;
+        });
+
+        Map<String, Set<Long>> byCategory = new HashMap<>();
+        categories.forEach((id, category) -> byCategory.computeIfAbsent(category, c -> new HashSet<>()).add(id));
+        Map<String, List<Long>> next = new HashMap<>();
+        byCategory.forEach((category, ids) -> next.put(category, rank(ids)));
+        next.put(ALL_CATEGORIES, rank(scores.keySet()));
+        snapshot = Collections.unmodifiableMap(next);
+    }
+
+    private double exponent(long nowMillis) {
+        double lambda = Math.log(2) / (halfLifeMinutes * 60_000);
+        return lambda * (nowMillis - landmarkMillis);
+    }
+}
@@ -0,0 +1,184 @@
+package com.sjsu.marketplace.sjsu_marketplace.service;
+
+import com.sjsu.marketplace.sjsu_marketplace.event.ImageFilesReleasedEvent;
+import com.sjsu.marketplace.sjsu_marketplace.model.UploadSession;
+import com.sjsu.marketplace.sjsu_marketplace.model.UploadStatus;
+import com.sjsu.marketplace.sjsu_marketplace.repository.ListingRepository;
+import com.sjsu.marketplace.sjsu_marketplace.repository.UploadSessionRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+// Deletes image files nothing references any more. Files released by deleted
+// listings are queued and removed on the next drain. A slower sweep streams the
+// upload directory, so it never lists it into memory, and checks old files
+// against listing_images in batches, pausing between batches to stay out of the
+// way of request traffic. The sweep also catches files left behind by failed
+// listing creation or lost from the queue by a restart.
+@Service
+public class UploadReaperService {
+    private static final Logger logger = LoggerFactory.getLogger(UploadReaperService.class);
+
+    @Autowired
+    private ListingRepository listingRepository;
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private UploadSessionService uploadSessionService;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Value("${reaper.grace-period-minutes:1440}")
+    private long gracePeriodMinutes;
+
+    @Value("${reaper.batch-size:500}")
+    private int batchSize;
+
+    @Value("${reaper.batch-pause-ms:200}")
+    private long batchPauseMillis;
+
+    @Value("${uploads.session-expiry-hours:24}")
+    private long sessionExpiryHours;
+
+    private final Queue<String> released = new ConcurrentLinkedQueue<>();
+
+    @TransactionalEventListener
+    public void onImageFilesReleased(ImageFilesReleasedEvent event) {
+        released.addAll(event.getImageUrls());
+    }
+
+    @Scheduled(fixedDelayString = "${reaper.released-drain-interval-ms:60000}")
+    public void drainReleased() {
+        Tally tally = new Tally();
+        List<String> batch = new ArrayList<>(batchSize);
+        String imageUrl;
+        while ((imageUrl = released.poll()) != null) {
+            batch.add(imageUrl);
+            if (batch.size() >= batchSize) {
+                deleteUnreferenced(batch, tally);
+                batch.clear();
+            }
+        }
+        if (!batch.isEmpty()) {
+            deleteUnreferenced(batch, tally);
+        }
+        if (tally.files > 0) {
+            logger.info("Deleted {} released image files, reclaimed {} bytes", tally.files, tally.bytes);
+        }
+    }
+
+    @Scheduled(fixedDelayString = "${reaper.sweep-interval-ms:3600000}",
+            initialDelayString = "${reaper.sweep-interval-ms:3600000}")
+    public void sweep() {
+        expireUploadSessions();
+
+        Path uploadPath = fileStorageService.getUploadPath();
+        if (!Files.isDirectory(uploadPath)) {
+            return;
+        }
+        long cutoffMillis = System.currentTimeMillis() - gracePeriodMinutes * 60_000;
+        Tally tally = new Tally();
+        long scanned = 0;
+
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(uploadPath)) {
+            List<String> batch = new ArrayList<>(batchSize);
+            for (Path file : files) {
+                BasicFileAttributes attributes =
+                        Files.readAttributes(file, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                scanned++;
+                // Directories (including in-progress uploads) and recent files are left alone
+                if (!attributes.isRegularFile() || attributes.lastModifiedTime().toMillis() > cutoffMillis) {
+                    continue;
+                }
+                batch.add(FileStorageService.URL_PREFIX + file.getFileName());
+                if (batch.size() >= batchSize) {
+                    deleteUnreferenced(batch, tally);
+                    batch.clear();
+                    if (!pause()) {
+                        return;
+                    }
+                }
+            }
+            if (!batch.isEmpty()) {
+                deleteUnreferenced(batch, tally);
+            }
+        } catch (IOException e) {
+            logger.warn("Upload directory sweep stopped early: {}", e.getMessage());
+        }
+        logger.info("Swept {} upload files: deleted {} orphans, reclaimed {} bytes", scanned, tally.files, tally.bytes);
+    }
+
+    // Abandoned sessions: open ones lose their partial file, and finished ones
+    // are forgotten so any file they alone referenced becomes reapable
+    private void expireUploadSessions() {
+        LocalDateTime cutoff = LocalDateTime.now().minusHours(sessionExpiryHours);
+        for (UploadSession session : uploadSessionRepository.findByStatusAndUpdatedAtBefore(UploadStatus.OPEN, cutoff)) {
+            try {
+                uploadSessionService.expireSession(session);
+            } catch (IOException e) {
+                logger.warn("Could not delete partial upload {}: {}", session.getId(), e.getMessage());
+            }
+        }
+        uploadSessionRepository.deleteByStatusNotAndUpdatedAtBefore(UploadStatus.OPEN, cutoff);
+    }
+
+    private void deleteUnreferenced(List<String> imageUrls, Tally tally) {
+        // Sessions first: attaching an upload marks its session ATTACHED in the same
+        // transaction that inserts the listing image, so a file is seen either as a
+        // finalized or attached upload here or as a listing image below. Checking
+        // listings first would miss a listing created between the two queries.
+        Set<String> referenced = new HashSet<>(uploadSessionRepository.findImageUrlsByStatusIn(
+                List.of(UploadStatus.FINALIZED, UploadStatus.ATTACHED), imageUrls));
+        referenced.addAll(listingRepository.findReferencedImageUrls(imageUrls));
+        for (String imageUrl : imageUrls) {
+            if (referenced.contains(imageUrl)) {
+                continue;
+            }
+            try {
+                long bytes = fileStorageService.deleteStoredFile(imageUrl);
+                if (bytes > 0) {
+                    tally.files++;
+                    tally.bytes += bytes;
+                }
+            } catch (IOException e) {
+                logger.warn("Could not delete {}: {}", imageUrl, e.getMessage());
+            }
+        }
+    }
+
+    private boolean pause() {
+        try {
+            Thread.sleep(batchPauseMillis);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    private static class Tally {
+        private int files;
+        private long bytes;
+    }
+}
\ No newline at end of file
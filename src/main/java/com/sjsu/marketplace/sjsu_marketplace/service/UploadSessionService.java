@@ -0,0 +1,192 @@
+package com.sjsu.marketplace.sjsu_marketplace.service;
+
+import com.sjsu.marketplace.sjsu_marketplace.model.UploadSession;
+import com.sjsu.marketplace.sjsu_marketplace.model.UploadStatus;
+import com.sjsu.marketplace.sjsu_marketplace.model.User;
+import com.sjsu.marketplace.sjsu_marketplace.repository.UploadSessionRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.multipart.MultipartFile;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+// Resumable uploads: a client opens a session with the file's size, PUTs chunks
+// at byte offsets and, after a dropped connection, asks for the received size and
+// continues from there. Chunks stream straight to a partial file on disk and no
+// transaction is open while bytes are arriving. Listings only ever reference
+// finalized sessions, so creating a listing never waits on an upload.
+@Service
+public class UploadSessionService {
+
+    @Autowired
+    private UploadSessionRepository uploadSessionRepository;
+
+    @Autowired
+    private FileStorageService fileStorageService;
+
+    @Value("${uploads.max-file-size:10485760}")
+    private long maxFileSize;
+
+    // Serializes chunk writes per session; concurrent PUTs to one file would interleave
+    private final Map<String, ReentrantLock> chunkLocks = new ConcurrentHashMap<>();
+
+    public UploadSession createSession(String originalFilename, String contentType, long totalSize, User user) {
+        if (totalSize <= 0 || totalSize > maxFileSize) {
+            throw new RuntimeException("Upload size must be between 1 and " + maxFileSize + " bytes");
+        }
+        UploadSession session = new UploadSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setOriginalFilename(originalFilename);
+        session.setContentType(contentType);
+        session.setTotalSize(totalSize);
+        session.setUser(user);
+        return uploadSessionRepository.save(session);
+    }
+
+    public UploadSession getSession(String sessionId, User user) {
+        return uploadSessionRepository.findByIdAndUser(sessionId, user)
+                .orElseThrow(() -> new RuntimeException("Upload session not found"));
+    }
+
+    public UploadSession appendChunk(String sessionId, long offset, InputStream in, User user) throws IOException {
+        ReentrantLock lock = chunkLocks.computeIfAbsent(sessionId, id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw new RuntimeException("Another chunk is already being written to this upload");
+        }
+        boolean open = false;
+        try {
+            UploadSession session = getSession(sessionId, user);
+            if (session.getStatus() != UploadStatus.OPEN) {
+                throw new RuntimeException("Upload session is not open");
+            }
+            open = true;
+            // Overlapping a chunk that was already received is fine; skipping ahead is not
+            if (offset < 0 || offset > session.getReceivedBytes()) {
+                throw new RuntimeException("Upload offset must be between 0 and " + session.getReceivedBytes());
+            }
+            long written = fileStorageService.writeChunk(sessionId, offset, in, session.getTotalSize() - offset);
+            session.setReceivedBytes(offset + written);
+            return uploadSessionRepository.save(session);
+        } finally {
+            unlock(sessionId, lock, open);
+        }
+    }
+
+    public UploadSession finalizeSession(String sessionId, User user) throws IOException {
+        ReentrantLock lock = chunkLocks.computeIfAbsent(sessionId, id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw new RuntimeException("A chunk is still being written to this upload");
+        }
+        boolean open = false;
+        try {
+            UploadSession session = getSession(sessionId, user);
+            if (session.getStatus() != UploadStatus.OPEN) {
+                return session;
+            }
+            open = true;
+            if (session.getReceivedBytes() != session.getTotalSize()
+                    || fileStorageService.getPartialSize(sessionId) != session.getTotalSize()) {
+                throw new RuntimeException("Upload is incomplete: received " + session.getReceivedBytes()
+                        + " of " + session.getTotalSize() + " bytes");
+            }
+            session.setImageUrl(fileStorageService.promotePartial(sessionId, session.getOriginalFilename()));
+            session.setStatus(UploadStatus.FINALIZED);
+            session = uploadSessionRepository.save(session);
+            open = false;
+            return session;
+        } finally {
+            unlock(sessionId, lock, open);
+        }
+    }
+
+    public void abortSession(String sessionId, User user) throws IOException {
+        ReentrantLock lock = chunkLocks.computeIfAbsent(sessionId, id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            throw new RuntimeException("A chunk is still being written to this upload");
+        }
+        try {
+            UploadSession session = getSession(sessionId, user);
+            if (session.getStatus() == UploadStatus.ATTACHED) {
+                throw new RuntimeException("Upload is already attached to a listing");
+            }
+            fileStorageService.deletePartial(sessionId);
+            uploadSessionRepository.delete(session);
+        } finally {
+            unlock(sessionId, lock, false);
+        }
+    }
+
+    // For the reaper: drops an abandoned OPEN session and its partial file. Returns
+    // false, leaving it for the next sweep, if a chunk is being written right now.
+    public boolean expireSession(UploadSession session) throws IOException {
+        ReentrantLock lock = chunkLocks.computeIfAbsent(session.getId(), id -> new ReentrantLock());
+        if (!lock.tryLock()) {
+            return false;
+        }
+        try {
+            fileStorageService.deletePartial(session.getId());
+            uploadSessionRepository.delete(session);
+            return true;
+        } finally {
+            unlock(session.getId(), lock, false);
+        }
+    }
+
+    // Locks are only kept for sessions that can still receive chunks. A session that
+    // is gone, finalized or attached never becomes OPEN again, so dropping its lock
+    // can't let two writers into the same file.
+    private void unlock(String sessionId, ReentrantLock lock, boolean stillOpen) {
+        if (!stillOpen) {
+            chunkLocks.remove(sessionId, lock);
+        }
+        lock.unlock();
+    }
+
+    // Single-request uploads for clients that still post multipart images with the listing
+    public UploadSession storeMultipart(MultipartFile file, User user) throws IOException {
+        UploadSession session = new UploadSession();
+        session.setId(UUID.randomUUID().toString());
+        session.setOriginalFilename(file.getOriginalFilename() != null ? file.getOriginalFilename() : "image");
+        session.setContentType(file.getContentType());
+        session.setTotalSize(file.getSize());
+        session.setReceivedBytes(file.getSize());
+        session.setUser(user);
+        session.setImageUrl(fileStorageService.storeFile(file));
+        session.setStatus(UploadStatus.FINALIZED);
+        return uploadSessionRepository.save(session);
+    }
+
+    // Marks finalized uploads as used by a listing, in the caller's transaction.
+    // Returns them in the requested order.
+    @Transactional
+    public List<UploadSession> attachFinalized(List<String> sessionIds, User user) {
+        List<String> distinctIds = List.copyOf(new LinkedHashSet<>(sessionIds));
+        Map<String, UploadSession> byId = uploadSessionRepository.findByIdInAndUser(distinctIds, user).stream()
+                .collect(Collectors.toMap(UploadSession::getId, Function.identity()));
+        List<UploadSession> sessions = distinctIds.stream()
+                .map(id -> {
+                    UploadSession session = byId.get(id);
+                    if (session == null) {
+                        throw new RuntimeException("Upload session not found");
+                    }
+                    if (session.getStatus() != UploadStatus.FINALIZED) {
+                        throw new RuntimeException("Upload " + id + " is not finalized");
+                    }
+                    return session;
+                })
+                .collect(Collectors.toList());
+        sessions.forEach(session -> session.setStatus(UploadStatus.ATTACHED));
+        return uploadSessionRepository.saveAll(sessions);
+    }
+}
\ No newline at end of file
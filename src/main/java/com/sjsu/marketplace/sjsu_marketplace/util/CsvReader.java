@@ -0,0 +1,91 @@
+package com.sjsu.marketplace.sjsu_marketplace.util;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+
+// Minimal RFC 4180 reader that yields one record at a time. Quoted fields may
+// contain commas, doubled quotes and line breaks. Only the current record is held
+// in memory, and records longer than the limit are rejected rather than buffered.
+public class CsvReader {
+
+    private static final int MAX_RECORD_CHARS = 1 << 20;
+
+    private final Reader reader;
+    private int pushedBack = -2;
+
+    public CsvReader(Reader reader) {
+        this.reader = reader;
+    }
+
+    // Returns the next record's fields, or null at end of input
+    public List<String> readRecord() throws IOException {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        boolean sawAnything = false;
+        int recordChars = 0;
+
+        while (true) {
+            int c = read();
+            if (c == -1) {
+                if (quoted) {
+                    throw new IOException("Unterminated quoted field");
+                }
+                if (!sawAnything) {
+                    return null;
+                }
+                fields.add(field.toString());
+                return fields;
+            }
+            sawAnything = true;
+            if (++recordChars > MAX_RECORD_CHARS) {
+                throw new IOException("CSV record is longer than " + MAX_RECORD_CHARS + " characters");
+            }
+
+            if (quoted) {
+                if (c == '"') {
+                    int next = read();
+                    if (next == '"') {
+                        field.append('"');
+                    } else {
+                        quoted = false;
+                        unread(next);
+                    }
+                } else {
+                    field.append((char) c);
+                }
+            } else if (c == '"' && field.length() == 0) {
+                quoted = true;
+            } else if (c == ',') {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else if (c == '\r' || c == '\n') {
+                if (c == '\r') {
+                    int next = read();
+                    if (next != '\n') {
+                        unread(next);
+                    }
+                }
+                fields.add(field.toString());
+                return fields;
+            } else {
+                field.append((char) c);
+            }
+        }
+    }
+
+    private int read() throws IOException {
+        if (pushedBack != -2) {
+            int c = pushedBack;
+            pushedBack = -2;
+            return c;
+        }
+        return reader.read();
+    }
+
+    private void unread(int c) {
+        pushedBack = c;
+    }
+}
\ No newline at end of file
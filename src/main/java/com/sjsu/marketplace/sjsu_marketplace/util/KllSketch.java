@@ -0,0 +1,222 @@
+package com.sjsu.marketplace.sjsu_marketplace.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+// Mergeable streaming quantile sketch (KLL). Memory is O(k) no matter how many
+// values are added; rank error is roughly 1.65 / k. Not thread-safe.
+public class KllSketch {
+
+    private static final byte FORMAT_VERSION = 1;
+    private static final double CAPACITY_DECAY = 2.0 / 3.0;
+    private static final int MIN_LEVEL_CAPACITY = 2;
+
+    private final int k;
+    private long count;
+    private final List<double[]> levels = new ArrayList<>();
+    private final List<Integer> sizes = new ArrayList<>();
+
+    public KllSketch(int k) {
+        if (k < 8 || k > Short.MAX_VALUE) {
+            throw new IllegalArgumentException("k must be between 8 and " + Short.MAX_VALUE);
+        }
+        this.k = k;
+        addLevel();
+    }
+
+    public int getK() {
+        return k;
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public boolean isEmpty() {
+        return count == 0;
+    }
+
+    public void update(double value) {
+        if (Double.isNaN(value)) {
+            return;
+        }
+        append(0, value);
+        count++;
+        compressIfNeeded();
+    }
+
+    public void merge(KllSketch other) {
+        for (int level = 0; level < other.levels.size(); level++) {
+            double[] items = other.levels.get(level);
+            int size = other.sizes.get(level);
+            for (int i = 0; i < size; i++) {
+                append(level, items[i]);
+            }
+        }
+        count += other.count;
+        compressIfNeeded();
+    }
+
+    // Returns NaN when the sketch is empty
+    public double quantile(double fraction) {
+        if (fraction < 0 || fraction > 1) {
+            throw new IllegalArgumentException("fraction must be between 0 and 1");
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+
+        int retained = retainedItems();
+        double[] values = new double[retained];
+        long[] weights = new long[retained];
+        int pos = 0;
+        for (int level = 0; level < levels.size(); level++) {
+            double[] items = levels.get(level);
+            int size = sizes.get(level);
+            for (int i = 0; i < size; i++) {
+                values[pos] = items[i];
+                weights[pos] = 1L << level;
+                pos++;
+            }
+        }
+
+        Integer[] order = new Integer[retained];
+        for (int i = 0; i < retained; i++) {
+            order[i] = i;
+        }
+        Arrays.sort(order, (a, b) -> Double.compare(values[a], values[b]));
+
+        long totalWeight = 0;
+        for (long weight : weights) {
+            totalWeight += weight;
+        }
+        double target = fraction * totalWeight;
+        long cumulative = 0;
+        for (Integer index : order) {
+            cumulative += weights[index];
+            if (cumulative >= target) {
+                return values[index];
+            }
+        }
+        return values[order[retained - 1]];
+    }
+
+    public byte[] toBytes() {
+        try {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream(32 + retainedItems() * 4);
+            DataOutputStream out = new DataOutputStream(bytes);
+            out.writeByte(FORMAT_VERSION);
+            out.writeShort(k);
+            out.writeLong(count);
+            out.writeByte(levels.size());
+            for (int level = 0; level < levels.size(); level++) {
+                double[] items = levels.get(level);
+                int size = sizes.get(level);
+                out.writeShort(size);
+                // Single precision is plenty for prices and halves the snapshot size
+                for (int i = 0; i < size; i++) {
+                    out.writeFloat((float) items[i]);
+                }
+            }
+            out.flush();
+            return bytes.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException("Failed to serialize sketch", e);
+        }
+    }
+
+    public static KllSketch fromBytes(byte[] data) {
+        try {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+            byte version = in.readByte();
+            if (version != FORMAT_VERSION) {
+                throw new IllegalArgumentException("Unsupported sketch format version: " + version);
+            }
+            KllSketch sketch = new KllSketch(in.readShort());
+            sketch.count = in.readLong();
+            int levelCount = in.readUnsignedByte();
+            for (int level = 0; level < levelCount; level++) {
+                int size = in.readUnsignedShort();
+                for (int i = 0; i < size; i++) {
+                    sketch.append(level, in.readFloat());
+                }
+            }
+            return sketch;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt sketch data", e);
+        }
+    }
+
+    private void append(int level, double value) {
+        while (levels.size() <= level) {
+            addLevel();
+        }
+        double[] items = levels.get(level);
+        int size = sizes.get(level);
+        if (size == items.length) {
+            items = Arrays.copyOf(items, items.length * 2);
+            levels.set(level, items);
+        }
+        items[size] = value;
+        sizes.set(level, size + 1);
+    }
+
+    private void addLevel() {
+        levels.add(new double[MIN_LEVEL_CAPACITY * 4]);
+        sizes.add(0);
+    }
+
+    private int capacity(int level) {
+        int depth = levels.size() - level - 1;
+        return Math.max(MIN_LEVEL_CAPACITY, (int) Math.ceil(k * Math.pow(CAPACITY_DECAY, depth)));
+    }
+
+    private int retainedItems() {
+        int total = 0;
+        for (int size : sizes) {
+            total += size;
+        }
+        return total;
+    }
+
+    private void compressIfNeeded() {
+        boolean compacted = true;
+        while (compacted) {
+            compacted = false;
+            for (int level = 0; level < levels.size(); level++) {
+                if (sizes.get(level) >= capacity(level)) {
+                    compact(level);
+                    compacted = true;
+                    break;
+                }
+            }
+        }
+    }
+
+    // Sorts the level and promotes every other item (random offset) to the next
+    // level with doubled weight; an odd leftover item stays behind
+    private void compact(int level) {
+        double[] items = levels.get(level);
+        int size = sizes.get(level);
+        Arrays.sort(items, 0, size);
+
+        int leftover = size % 2;
+        double kept = items[size - 1];
+        int offset = ThreadLocalRandom.current().nextBoolean() ? 1 : 0;
+        for (int i = offset; i < size - leftover; i += 2) {
+            append(level + 1, items[i]);
+        }
+
+        sizes.set(level, 0);
+        if (leftover == 1) {
+            append(level, kept);
+        }
+    }
+}
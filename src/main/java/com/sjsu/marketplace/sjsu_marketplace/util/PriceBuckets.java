@@ -0,0 +1,70 @@
+package com.sjsu.marketplace.sjsu_marketplace.util;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public final class PriceBuckets {
+
+    // Lower bounds of each bucket; the last bucket is open-ended
+    private static final BigDecimal[] BOUNDS = {
+            BigDecimal.ZERO,
+            BigDecimal.valueOf(10),
+            BigDecimal.valueOf(25),
+            BigDecimal.valueOf(50),
+            BigDecimal.valueOf(100),
+            BigDecimal.valueOf(250),
+            BigDecimal.valueOf(500)
+    };
+
+    private static final List<String> LABELS;
+
+    static {
+        List<String> labels = new ArrayList<>();
+        for (int i = 0; i < BOUNDS.length; i++) {
+            labels.add(label(i));
+        }
+        LABELS = Collections.unmodifiableList(labels);
+    }
+
+    private PriceBuckets() {
+    }
+
+    public static int count() {
+        return BOUNDS.length;
+    }
+
+    public static int indexOf(BigDecimal price) {
+        for (int i = BOUNDS.length - 1; i > 0; i--) {
+            if (price.compareTo(BOUNDS[i]) >= 0) {
+                return i;
+            }
+        }
+        return 0;
+    }
+
+    public static String bucketOf(BigDecimal price) {
+        return LABELS.get(indexOf(price));
+    }
+
+    public static BigDecimal lowerBound(int index) {
+        return BOUNDS[index];
+    }
+
+    // Null for the open-ended top bucket
+    public static BigDecimal upperBound(int index) {
+        return index + 1 < BOUNDS.length ? BOUNDS[index + 1] : null;
+    }
+
+    public static List<String> labels() {
+        return LABELS;
+    }
+
+    private static String label(int index) {
+        BigDecimal upper = upperBound(index);
+        return upper == null
+                ? BOUNDS[index].toPlainString() + "+"
+                : BOUNDS[index].toPlainString() + "-" + upper.toPlainString();
+    }
+}
@@ -0,0 +1,137 @@
+-- Schema for production, where Hibernate validates the tables instead of creating
+-- them (see application-prod.properties). Every statement is idempotent so it can
+-- run on each start; it creates missing tables but never alters existing ones.
+-- Keep it in step with the entities: a change to a mapped column needs an ALTER
+-- run against production before the new version is deployed.
+
+CREATE TABLE IF NOT EXISTS users (
+  email_verified bit(1) NOT NULL,
+  created_at datetime(6) DEFAULT NULL,
+  id bigint NOT NULL AUTO_INCREMENT,
+  updated_at datetime(6) DEFAULT NULL,
+  username varchar(50) DEFAULT NULL,
+  password varchar(60) NOT NULL,
+  email varchar(255) DEFAULT NULL,
+  profile_picture varchar(255) DEFAULT NULL,
+  PRIMARY KEY (id),
+  UNIQUE KEY UK_r43af9ap4edm43mmtq01oddj6 (username),
+  UNIQUE KEY UK_6dotkott2kjsp8vw4d0m25fb7 (email)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS listings (
+  price decimal(38,2) NOT NULL,
+  created_at datetime(6) DEFAULT NULL,
+  id bigint NOT NULL AUTO_INCREMENT,
+  seller_id bigint NOT NULL,
+  updated_at datetime(6) DEFAULT NULL,
+  title varchar(100) DEFAULT NULL,
+  category varchar(255) DEFAULT NULL,
+  description text DEFAULT NULL,
+  status enum('AVAILABLE','PENDING','SOLD','CANCELLED') DEFAULT NULL,
+  PRIMARY KEY (id),
+  KEY FKdfglshentvek3cnsr7a4nwh7j (seller_id),
+  CONSTRAINT FKdfglshentvek3cnsr7a4nwh7j FOREIGN KEY (seller_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS listing_images (
+  is_primary bit(1) NOT NULL,
+  created_at datetime(6) DEFAULT NULL,
+  id bigint NOT NULL AUTO_INCREMENT,
+  listing_id bigint NOT NULL,
+  updated_at datetime(6) DEFAULT NULL,
+  image_url varchar(255) DEFAULT NULL,
+  PRIMARY KEY (id),
+  KEY FKq8bkplrutxrfur5u7pppml04y (listing_id),
+  CONSTRAINT FKq8bkplrutxrfur5u7pppml04y FOREIGN KEY (listing_id) REFERENCES listings (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS listing_changes (
+  changed_at datetime(6) DEFAULT NULL,
+  id bigint NOT NULL AUTO_INCREMENT,
+  listing_id bigint NOT NULL,
+  change_type enum('CREATED','UPDATED','DELETED') NOT NULL,
+  PRIMARY KEY (id),
+  KEY idx_listing_changes_listing (listing_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS listing_views (
+  listing_id bigint NOT NULL,
+  updated_at datetime(6) DEFAULT NULL,
+  view_count bigint NOT NULL,
+  PRIMARY KEY (listing_id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS messages (
+  message_read bit(1) DEFAULT NULL,
+  created_at datetime(6) DEFAULT NULL,
+  id bigint NOT NULL AUTO_INCREMENT,
+  listing_id bigint DEFAULT NULL,
+  receiver_id bigint NOT NULL,
+  sender_id bigint NOT NULL,
+  updated_at datetime(6) DEFAULT NULL,
+  content text DEFAULT NULL,
+  PRIMARY KEY (id),
+  KEY FKq4pvtu9s5dw5igbibathqr8ea (listing_id),
+  KEY FKt05r0b6n0iis8u7dfna4xdh73 (receiver_id),
+  KEY FK4ui4nnwntodh6wjvck53dbk9m (sender_id),
+  CONSTRAINT FK4ui4nnwntodh6wjvck53dbk9m FOREIGN KEY (sender_id) REFERENCES users (id),
+  CONSTRAINT FKq4pvtu9s5dw5igbibathqr8ea FOREIGN KEY (listing_id) REFERENCES listings (id),
+  CONSTRAINT FKt05r0b6n0iis8u7dfna4xdh73 FOREIGN KEY (receiver_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS saved_searches (
+  max_price decimal(38,2) DEFAULT NULL,
+  min_price decimal(38,2) DEFAULT NULL,
+  created_at datetime(6) DEFAULT NULL,
+  id bigint NOT NULL AUTO_INCREMENT,
+  updated_at datetime(6) DEFAULT NULL,
+  user_id bigint NOT NULL,
+  keyword varchar(100) DEFAULT NULL,
+  category varchar(255) DEFAULT NULL,
+  PRIMARY KEY (id),
+  KEY FKanhwgxvq6uwppnkiymaybnb8j (user_id),
+  CONSTRAINT FKanhwgxvq6uwppnkiymaybnb8j FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS saved_search_matches (
+  match_seen bit(1) DEFAULT NULL,
+  created_at datetime(6) DEFAULT NULL,
+  id bigint NOT NULL AUTO_INCREMENT,
+  listing_id bigint NOT NULL,
+  saved_search_id bigint NOT NULL,
+  user_id bigint NOT NULL,
+  PRIMARY KEY (id),
+  KEY FK8huspr52d0qo6aphgo3eq58a2 (listing_id),
+  KEY FK9icfb10gwep9xad5xxuu1nu0a (saved_search_id),
+  KEY FKqt13gj764gh5ol1iwiwmkrsdl (user_id),
+  CONSTRAINT FK8huspr52d0qo6aphgo3eq58a2 FOREIGN KEY (listing_id) REFERENCES listings (id) ON DELETE CASCADE,
+  CONSTRAINT FK9icfb10gwep9xad5xxuu1nu0a FOREIGN KEY (saved_search_id) REFERENCES saved_searches (id) ON DELETE CASCADE,
+  CONSTRAINT FKqt13gj764gh5ol1iwiwmkrsdl FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS upload_sessions (
+  created_at datetime(6) DEFAULT NULL,
+  received_bytes bigint NOT NULL,
+  total_size bigint NOT NULL,
+  updated_at datetime(6) DEFAULT NULL,
+  user_id bigint NOT NULL,
+  id varchar(36) NOT NULL,
+  content_type varchar(255) DEFAULT NULL,
+  image_url varchar(255) DEFAULT NULL,
+  original_filename varchar(255) DEFAULT NULL,
+  status enum('OPEN','FINALIZED','ATTACHED') DEFAULT NULL,
+  PRIMARY KEY (id),
+  KEY FKei6uujjcck2f0tl7xi40k0y6y (user_id),
+  CONSTRAINT FKei6uujjcck2f0tl7xi40k0y6y FOREIGN KEY (user_id) REFERENCES users (id)
+) ENGINE=InnoDB;
+
+CREATE TABLE IF NOT EXISTS price_sketch_snapshots (
+  id bigint NOT NULL AUTO_INCREMENT,
+  item_count bigint NOT NULL,
+  updated_at datetime(6) DEFAULT NULL,
+  category varchar(255) DEFAULT NULL,
+  data blob NOT NULL,
+  kind enum('ASKING','SOLD') NOT NULL,
+  PRIMARY KEY (id),
+  UNIQUE KEY UKj5k3g3u7xqrt924nhwek4sn2c (category,kind)
+) ENGINE=InnoDB;
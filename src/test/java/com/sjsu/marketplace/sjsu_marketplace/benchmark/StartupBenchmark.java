@@ -0,0 +1,118 @@
+package com.sjsu.marketplace.sjsu_marketplace.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+// Measures time to first served request: from launching the JVM until the app
+// answers a request. The first request also pays for any beans that lazy
+// initialization deferred, so this covers more than Spring's "Started in" line.
+// Not a unit test; build with mvn -Paot package, then
+//   java -cp target/test-classes com.sjsu.marketplace.sjsu_marketplace.benchmark.StartupBenchmark \
+//        <url> <runs> <dir> <java command...>
+// The app needs its database. For example, from the project root:
+//   ... StartupBenchmark http://localhost:8080/api/listings 5 target \
+//       java -jar sjsu-marketplace-0.0.1-SNAPSHOT.jar
+//   ... StartupBenchmark http://localhost:8080/api/listings 5 target/app \
+//       java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true \
+//       -jar sjsu-marketplace-0.0.1-SNAPSHOT-cds.jar --spring.profiles.active=prod
+// Set BENCH_TOKEN to a token for a user in that database; the request then has to
+// get through security and a controller to the database, and only a 2xx response
+// counts. Without a token any response below 500 counts, including a 401 from
+// security, which says little about startup.
+public class StartupBenchmark {
+
+    private static final long POLL_MILLIS = 20;
+    private static final long TIMEOUT_SECONDS = 180;
+    private static final Pattern STARTED =
+            Pattern.compile("Started \\w+ in ([0-9.]+) seconds \\(process running for ([0-9.]+)\\)");
+
+    public static void main(String[] args) throws Exception {
+        if (args.length < 4) {
+            System.out.println("usage: StartupBenchmark <url> <runs> <dir> <java command...>");
+            return;
+        }
+        String url = args[0];
+        int runs = Integer.parseInt(args[1]);
+        File dir = new File(args[2]);
+        List<String> command = Arrays.asList(args).subList(3, args.length);
+
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofMillis(500)).build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET();
+        String token = System.getenv("BENCH_TOKEN");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+        int maxStatus = token != null ? 299 : 499;
+
+        System.out.println(String.join(" ", command));
+        System.out.printf("%-6s %16s %16s %16s%n", "run", "first req ms", "started s", "jvm up s");
+        List<Long> firstRequest = new ArrayList<>();
+        for (int run = 1; run <= runs; run++) {
+            Path log = Files.createTempFile("startup-benchmark", ".log");
+            Process app = new ProcessBuilder(command)
+                    .directory(dir)
+                    .redirectErrorStream(true)
+                    .redirectOutput(log.toFile())
+                    .start();
+            long launched = System.nanoTime();
+            try {
+                long millis = awaitFirstResponse(http, request, maxStatus, app, launched);
+                if (millis < 0) {
+                    System.out.printf("%-6d %16s   (see %s)%n", run, "failed", log);
+                    continue;
+                }
+                firstRequest.add(millis);
+                Matcher started = STARTED.matcher(Files.readString(log));
+                boolean found = started.find();
+                System.out.printf("%-6d %16d %16s %16s%n", run, millis,
+                        found ? started.group(1) : "-", found ? started.group(2) : "-");
+            } finally {
+                app.destroy();
+                if (!app.waitFor(30, TimeUnit.SECONDS)) {
+                    app.destroyForcibly().waitFor();
+                }
+            }
+            Files.deleteIfExists(log);
+        }
+
+        if (!firstRequest.isEmpty()) {
+            Collections.sort(firstRequest);
+            System.out.printf("first request ms: min %d, median %d, max %d%n", firstRequest.get(0),
+                    firstRequest.get(firstRequest.size() / 2), firstRequest.get(firstRequest.size() - 1));
+        }
+    }
+
+    // Milliseconds from launch to the first response with a status up to maxStatus,
+    // or -1 if the app exits or times out
+    private static long awaitFirstResponse(HttpClient http, HttpRequest request, int maxStatus, Process app,
+                                           long launched) throws InterruptedException {
+        long deadline = launched + TimeUnit.SECONDS.toNanos(TIMEOUT_SECONDS);
+        while (System.nanoTime() < deadline && app.isAlive()) {
+            try {
+                HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                if (response.statusCode() <= maxStatus) {
+                    return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - launched);
+                }
+            } catch (IOException e) {
+                // Not listening yet
+            }
+            Thread.sleep(POLL_MILLIS);
+        }
+        return -1;
+    }
+}
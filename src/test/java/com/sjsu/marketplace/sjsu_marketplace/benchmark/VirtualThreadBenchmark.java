@@ -0,0 +1,185 @@
+package com.sjsu.marketplace.sjsu_marketplace.benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Compares throughput and tail latency of thread-pool and virtual-thread request handling.
+// Not a unit test; run the main method on JDK 21, e.g.
+//   mvn -q -Pjdk21 test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//   java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+//        com.sjsu.marketplace.sjsu_marketplace.benchmark.VirtualThreadBenchmark simulate [requests] [concurrency]
+//
+// "simulate" runs a request shaped like ours (two blocking JDBC round trips plus some
+// CPU for serialization) on a 200-thread pool, Tomcat's default, and on virtual threads.
+//
+// "http <url> [seconds] [concurrency]" drives a running server instead. Start the app
+// twice, with and without --spring.profiles.active=virtual, and compare the two runs.
+// Set BENCH_TOKEN to send a bearer token.
+public class VirtualThreadBenchmark {
+
+    private static final int TOMCAT_MAX_THREADS = 200;
+    private static final long DB_ROUND_TRIP_MILLIS = 15;
+    private static final long CPU_NANOS = 50_000;
+
+    public static void main(String[] args) throws Exception {
+        String mode = args.length > 0 ? args[0] : "simulate";
+        if (mode.equals("http")) {
+            String url = args[1];
+            int seconds = args.length > 2 ? Integer.parseInt(args[2]) : 30;
+            int concurrency = args.length > 3 ? Integer.parseInt(args[3]) : 500;
+            runHttp(url, seconds, concurrency);
+            return;
+        }
+
+        int requests = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int concurrency = args.length > 2 ? Integer.parseInt(args[2]) : 2_000;
+        System.out.printf("%d requests, %d in flight, %dms x2 blocking I/O each%n",
+                requests, concurrency, DB_ROUND_TRIP_MILLIS);
+        System.out.printf("%-16s %12s %10s %10s%n", "mode", "req/s", "p50 ms", "p99 ms");
+        // Warm up the JIT before measuring either mode
+        simulate("warmup", Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), requests / 10, concurrency, false);
+        simulate("thread-pool", Executors.newFixedThreadPool(TOMCAT_MAX_THREADS), requests, concurrency, true);
+        ExecutorService virtual = newVirtualThreadExecutor();
+        if (virtual == null) {
+            System.out.println("virtual threads need JDK 21; rerun with -Pjdk21 on a JDK 21 runtime");
+            return;
+        }
+        simulate("virtual", virtual, requests, concurrency, true);
+    }
+
+    private static void simulate(String name, ExecutorService executor, int requests, int concurrency,
+                                 boolean report) throws Exception {
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>(requests));
+        AtomicLong remaining = new AtomicLong(requests);
+        // Each client sends its next request once the previous one completes
+        int clientCount = Math.min(concurrency, requests);
+        ExecutorService clients = newVirtualThreadExecutor();
+        if (clients == null) {
+            clients = Executors.newFixedThreadPool(clientCount);
+        }
+
+        long start = System.nanoTime();
+        List<Future<?>> loops = new ArrayList<>();
+        for (int c = 0; c < clientCount; c++) {
+            loops.add(clients.submit(() -> {
+                while (remaining.getAndDecrement() > 0) {
+                    long submitted = System.nanoTime();
+                    executor.submit(VirtualThreadBenchmark::handleRequest).get();
+                    latencies.add(System.nanoTime() - submitted);
+                }
+                return null;
+            }));
+        }
+        for (Future<?> loop : loops) {
+            loop.get();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        clients.shutdown();
+        executor.shutdown();
+        executor.awaitTermination(1, TimeUnit.MINUTES);
+        if (report) {
+            printRow(name, latencies, seconds);
+        }
+    }
+
+    private static Object handleRequest() throws InterruptedException {
+        Thread.sleep(DB_ROUND_TRIP_MILLIS);
+        burnCpu();
+        Thread.sleep(DB_ROUND_TRIP_MILLIS);
+        return null;
+    }
+
+    private static void burnCpu() {
+        long end = System.nanoTime() + CPU_NANOS;
+        long x = 0;
+        while (System.nanoTime() < end) {
+            x += x * 31 + 7;
+        }
+        if (x == 42) {
+            System.out.print("");
+        }
+    }
+
+    private static void runHttp(String url, int seconds, int concurrency) throws Exception {
+        ExecutorService clients = newVirtualThreadExecutor();
+        if (clients == null) {
+            clients = Executors.newFixedThreadPool(concurrency);
+        }
+        HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(url)).timeout(Duration.ofSeconds(30)).GET();
+        String token = System.getenv("BENCH_TOKEN");
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        HttpRequest request = builder.build();
+
+        List<Long> latencies = Collections.synchronizedList(new ArrayList<>());
+        AtomicLong errors = new AtomicLong();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long start = System.nanoTime();
+        List<Future<?>> loops = new ArrayList<>();
+        for (int c = 0; c < concurrency; c++) {
+            loops.add(clients.submit(() -> {
+                while (System.nanoTime() < deadline) {
+                    long sent = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors.incrementAndGet();
+                            continue;
+                        }
+                        latencies.add(System.nanoTime() - sent);
+                    } catch (Exception e) {
+                        errors.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+        for (Future<?> loop : loops) {
+            loop.get();
+        }
+        double elapsed = (System.nanoTime() - start) / 1e9;
+        clients.shutdown();
+
+        System.out.printf("%s, %d clients, %ds%n", url, concurrency, seconds);
+        System.out.printf("%-16s %12s %10s %10s%n", "mode", "req/s", "p50 ms", "p99 ms");
+        printRow("server", latencies, elapsed);
+        System.out.printf("errors: %d%n", errors.get());
+    }
+
+    private static void printRow(String name, List<Long> latencies, double seconds) {
+        List<Long> sorted = new ArrayList<>(latencies);
+        Collections.sort(sorted);
+        System.out.printf("%-16s %12.0f %10.1f %10.1f%n", name, sorted.size() / seconds,
+                percentile(sorted, 0.50), percentile(sorted, 0.99));
+    }
+
+    private static double percentile(List<Long> sorted, double q) {
+        if (sorted.isEmpty()) {
+            return 0;
+        }
+        int index = (int) Math.min(sorted.size() - 1, Math.ceil(q * sorted.size()) - 1);
+        return sorted.get(Math.max(0, index)) / 1e6;
+    }
+
+    // Looked up reflectively so the test sources still compile for Java 17
+    private static ExecutorService newVirtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return null;
+        }
+    }
+}
\ No newline at end of file
@@ -0,0 +1,111 @@
+package com.sjsu.marketplace.sjsu_marketplace.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.sjsu.marketplace.sjsu_marketplace.model.Listing;
+import com.sjsu.marketplace.sjsu_marketplace.model.ListingImage;
+import com.sjsu.marketplace.sjsu_marketplace.model.User;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+import java.util.zip.GZIPOutputStream;
+
+// Compares payload size and serialization CPU for one page of listings in each wire format.
+// Not a unit test; run the main method, e.g.
+//   mvn -q test-compile dependency:build-classpath -Dmdep.outputFile=target/cp.txt
+//   java -cp target/classes:target/test-classes:$(cat target/cp.txt) \
+//        com.sjsu.marketplace.sjsu_marketplace.benchmark.WireFormatBenchmark [pageSize]
+public class WireFormatBenchmark {
+
+    private static final int WARMUP_ITERATIONS = 2_000;
+    private static final int MEASURED_ITERATIONS = 5_000;
+
+    public static void main(String[] args) throws IOException {
+        int pageSize = args.length > 0 ? Integer.parseInt(args[0]) : 20;
+        PageImpl<Listing> page = new PageImpl<>(samplePage(pageSize), PageRequest.of(0, pageSize), 10_000);
+
+        ObjectMapper json = new ObjectMapper()
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+        ObjectMapper cbor = new ObjectMapper(new CBORFactory())
+                .findAndRegisterModules()
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS);
+
+        System.out.printf("Page of %d listings%n", pageSize);
+        System.out.printf("%-12s %10s %14s%n", "format", "bytes", "us/page");
+        run("json", page, json, false);
+        run("json+gzip", page, json, true);
+        run("cbor", page, cbor, false);
+        run("cbor+gzip", page, cbor, true);
+    }
+
+    private static void run(String name, Object page, ObjectMapper mapper, boolean gzip) throws IOException {
+        int bytes = 0;
+        for (int i = 0; i < WARMUP_ITERATIONS; i++) {
+            bytes = serialize(page, mapper, gzip);
+        }
+        long start = System.nanoTime();
+        for (int i = 0; i < MEASURED_ITERATIONS; i++) {
+            bytes = serialize(page, mapper, gzip);
+        }
+        double micros = (System.nanoTime() - start) / 1_000.0 / MEASURED_ITERATIONS;
+        System.out.printf("%-12s %10d %14.1f%n", name, bytes, micros);
+    }
+
+    private static int serialize(Object page, ObjectMapper mapper, boolean gzip) throws IOException {
+        ByteArrayOutputStream buffer = new ByteArrayOutputStream(16 * 1024);
+        if (gzip) {
+            try (GZIPOutputStream out = new GZIPOutputStream(buffer)) {
+                mapper.writeValue(out, page);
+            }
+        } else {
+            mapper.writeValue(buffer, page);
+        }
+        return buffer.size();
+    }
+
+    private static List<Listing> samplePage(int size) {
+        String[] categories = {"Electronics", "Books", "Furniture", "Clothing", "Tickets"};
+        List<Listing> listings = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            User seller = new User();
+            seller.setId(100L + i % 7);
+            seller.setUsername("spartan" + (i % 7));
+            seller.setEmail("spartan" + (i % 7) + "@sjsu.edu");
+            seller.setProfilePicture("/uploads/profile-" + (i % 7) + ".jpg");
+            seller.setCreatedAt(LocalDateTime.now().minusDays(30));
+            seller.setUpdatedAt(LocalDateTime.now().minusDays(2));
+
+            Listing listing = new Listing();
+            listing.setId(1_000L + i);
+            listing.setTitle("Lightly used item number " + i + " for campus pickup");
+            listing.setDescription("Bought last semester and barely used. Comes with the original box, "
+                    + "charger and manual. Pickup near the Student Union or MLK library. Item " + i + ".");
+            listing.setPrice(BigDecimal.valueOf(15 + (i * 37) % 480, 0));
+            listing.setCategory(categories[i % categories.length]);
+            listing.setSeller(seller);
+            listing.setCreatedAt(LocalDateTime.now().minusHours(i));
+            listing.setUpdatedAt(LocalDateTime.now().minusMinutes(i));
+            for (int j = 0; j < 3; j++) {
+                ListingImage image = new ListingImage();
+                image.setId(10_000L + i * 3L + j);
+                image.setImageUrl("/uploads/" + UUID.randomUUID() + ".jpg");
+                image.setPrimary(j == 0);
+                image.setListing(listing);
+                image.setCreatedAt(listing.getCreatedAt());
+                image.setUpdatedAt(listing.getCreatedAt());
+                listing.getImages().add(image);
+            }
+            listings.add(listing);
+        }
+        return listings;
+    }
+}
@@ -0,0 +1,144 @@
+package com.sjsu.marketplace.sjsu_marketplace.config;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.aop.framework.ProxyFactory;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.jdbc.datasource.DataSourceUtils;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.transaction.TransactionManager;
+import org.springframework.transaction.annotation.AnnotationTransactionAttributeSource;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.interceptor.TransactionInterceptor;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+class ReadWriteRoutingDataSourceTests {
+
+	private HikariDataSource primary;
+	private HikariDataSource replica;
+	private LazyConnectionDataSourceProxy dataSource;
+	private DataSourceTransactionManager transactionManager;
+
+	@BeforeEach
+	void setUp() throws SQLException {
+		primary = mock(HikariDataSource.class);
+		replica = mock(HikariDataSource.class);
+		when(primary.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+		when(replica.getConnection()).thenAnswer(invocation -> mock(Connection.class));
+
+		ReadWriteRoutingDataSource routing =
+				new ReadWriteRoutingDataSource(primary, Map.of("replica-0", replica), 10_000);
+		routing.afterPropertiesSet();
+		routing.setHealthyReplicas(List.of("replica-0"));
+
+		dataSource = new LazyConnectionDataSourceProxy();
+		dataSource.setTargetDataSource(routing);
+		dataSource.setDefaultAutoCommit(true);
+		dataSource.setDefaultTransactionIsolation(Connection.TRANSACTION_REPEATABLE_READ);
+		dataSource.afterPropertiesSet();
+		transactionManager = new DataSourceTransactionManager(dataSource);
+
+		SecurityContextHolder.getContext().setAuthentication(new UsernamePasswordAuthenticationToken(
+				"alice", null, AuthorityUtils.createAuthorityList("ROLE_USER")));
+	}
+
+	@AfterEach
+	void tearDown() {
+		SecurityContextHolder.clearContext();
+	}
+
+	// A request that looks the user up (read-only) and then saves something. Each
+	// transaction takes its own connection, so the write is routed on its own.
+	@Test
+	void readThenWriteInOneRequestWritesToPrimary() throws SQLException {
+		runStatement(true);
+		verify(replica, times(1)).getConnection();
+		verify(primary, never()).getConnection();
+
+		runStatement(false);
+		verify(primary, times(1)).getConnection();
+		verify(replica, times(1)).getConnection();
+
+		// Read-your-writes: the same user keeps reading from the primary for a while
+		runStatement(true);
+		verify(primary, times(2)).getConnection();
+		verify(replica, times(1)).getConnection();
+	}
+
+	// Reads that feed a cache go to the primary, but don't pin the user to it
+	@Test
+	void readFromPrimaryUsesPrimaryWithoutPinning() throws SQLException {
+		ReadWriteRoutingDataSource.readFromPrimary(() -> {
+			runStatement(true);
+			return null;
+		});
+		verify(primary, times(1)).getConnection();
+		verify(replica, never()).getConnection();
+
+		runStatement(true);
+		verify(primary, times(1)).getConnection();
+		verify(replica, times(1)).getConnection();
+	}
+
+	// The same request through @Transactional service methods, as a controller calls
+	// them with open-in-view off: no connection outlives the read-only method, so the
+	// write that follows is routed on its own
+	@Test
+	void serviceWriteAfterReadGoesToPrimary() throws SQLException {
+		ProxyFactory factory = new ProxyFactory(new AccountService());
+		factory.addAdvice(new TransactionInterceptor((TransactionManager) transactionManager,
+				new AnnotationTransactionAttributeSource()));
+		AccountService service = (AccountService) factory.getProxy();
+
+		service.findAccount();
+		verify(replica, times(1)).getConnection();
+		verify(primary, never()).getConnection();
+
+		service.saveAccount();
+		verify(primary, times(1)).getConnection();
+		verify(replica, times(1)).getConnection();
+	}
+
+	private void runStatement(boolean readOnly) {
+		TransactionTemplate template = new TransactionTemplate(transactionManager);
+		template.setReadOnly(readOnly);
+		template.executeWithoutResult(status -> statement());
+	}
+
+	private void statement() {
+		try {
+			DataSourceUtils.getConnection(dataSource).createStatement();
+		} catch (SQLException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	class AccountService {
+
+		@Transactional(readOnly = true)
+		public void findAccount() {
+			statement();
+		}
+
+		@Transactional
+		public void saveAccount() {
+			statement();
+		}
+	}
+}
@@ -0,0 +1,107 @@
+package com.sjsu.marketplace.sjsu_marketplace.service;
+
+import com.sjsu.marketplace.sjsu_marketplace.model.ArchivedMessage;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class MessageArchiveServiceTests {
+
+	private static final LocalDateTime SENT = LocalDateTime.of(2024, 3, 1, 12, 30, 15);
+
+	@TempDir
+	Path archiveDir;
+
+	@Test
+	void archivedMessagesReadBackAfterRestart() throws IOException {
+		ArchivedMessage withListing = message(1, 7L, 8L, "Is the bike still available?");
+		withListing.setListingId(42L);
+		ArchivedMessage unicode = message(2, 8L, 7L, "Yes — café at 5? 🚲");
+		append(archive(), List.of(withListing, unicode, message(3, 9L, 7L, "Other conversation")));
+
+		MessageArchiveService restarted = archive();
+		List<ArchivedMessage> conversation = restarted.getConversation(8L, 7L, null, 10);
+
+		assertEquals(List.of(unicode, withListing), conversation);
+		assertNull(conversation.get(0).getListingId());
+		assertEquals(List.of(3L), ids(restarted.getConversation(7L, 9L, null, 10)));
+	}
+
+	@Test
+	void tornIndexRecordIsIgnored() throws IOException {
+		append(archive(), List.of(message(1, 1L, 2L, "first"), message(2, 2L, 1L, "second")));
+		Files.write(archiveDir.resolve("index.log"), new byte[]{1, 2, 3}, StandardOpenOption.APPEND);
+
+		MessageArchiveService restarted = archive();
+
+		assertEquals(List.of(2L, 1L), ids(restarted.getConversation(1L, 2L, null, 10)));
+	}
+
+	// A crash between writing a block and deleting its rows archives them again
+	@Test
+	void duplicateBlocksAreReadOnce() throws IOException {
+		MessageArchiveService archive = archive();
+		List<ArchivedMessage> messages = List.of(message(1, 1L, 2L, "a"), message(2, 1L, 2L, "b"));
+		append(archive, messages);
+		append(archive, messages);
+
+		assertEquals(List.of(2L, 1L), ids(archive.getConversation(1L, 2L, null, 10)));
+		assertEquals(List.of(2L, 1L), ids(archive().getConversation(1L, 2L, null, 10)));
+	}
+
+	// Messages read late are archived after newer ones, in blocks with lower ids
+	@Test
+	void pagesFollowIdsNotBlockWriteOrder() throws IOException {
+		MessageArchiveService archive = archive();
+		List<ArchivedMessage> early = new ArrayList<>();
+		for (long id = 1; id <= 300; id++) {
+			early.add(message(id, 1L, 2L, "message " + id));
+		}
+		append(archive, early);
+		append(archive, List.of(message(5, 2L, 1L, "late read")));
+		append(archive, List.of(message(7, 2L, 1L, "late read")));
+
+		assertEquals(List.of(300L), ids(archive.getConversation(1L, 2L, null, 1)));
+		assertEquals(List.of(300L), ids(archive().getConversation(1L, 2L, null, 1)));
+		assertEquals(List.of(8L, 7L, 6L), ids(archive.getConversation(1L, 2L, 9L, 3)));
+	}
+
+	private MessageArchiveService archive() throws IOException {
+		MessageArchiveService archive = new MessageArchiveService();
+		ReflectionTestUtils.setField(archive, "archiveDir", archiveDir.toString());
+		ReflectionTestUtils.setField(archive, "segmentMaxBytes", 64L * 1024 * 1024);
+		archive.loadIndex();
+		return archive;
+	}
+
+	private static void append(MessageArchiveService archive, List<ArchivedMessage> messages) {
+		ReflectionTestUtils.invokeMethod(archive, "appendBlocks", messages);
+	}
+
+	private static List<Long> ids(List<ArchivedMessage> messages) {
+		return messages.stream().map(ArchivedMessage::getId).collect(Collectors.toList());
+	}
+
+	private static ArchivedMessage message(long id, Long senderId, Long receiverId, String content) {
+		ArchivedMessage message = new ArchivedMessage();
+		message.setId(id);
+		message.setSenderId(senderId);
+		message.setReceiverId(receiverId);
+		message.setContent(content);
+		message.setRead(true);
+		message.setCreatedAt(SENT.plusMinutes(id));
+		return message;
+	}
+}
@@ -0,0 +1,104 @@
+package com.sjsu.marketplace.sjsu_marketplace.service;
+
+import com.sjsu.marketplace.sjsu_marketplace.model.Listing;
+import org.junit.jupiter.api.Test;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SavedSearchMatcherTests {
+
+	private final SavedSearchMatcher matcher = new SavedSearchMatcher();
+
+	// Filed under its longest term, but every term still has to be in the listing
+	@Test
+	void keywordSearchNeedsAllTermsWhicheverIsTheAnchor() {
+		matcher.add(1L, 10L, "vintage road bike", null, null, null);
+
+		assertEquals(List.of(1L), matched(listing("Vintage road bike", "Steel frame", "Sports", "150")));
+		assertEquals(List.of(1L), matched(listing("Bike", "A vintage bike for the road", null, null)));
+		assertEquals(List.of(), matched(listing("Vintage lamp", "Brass", "Furniture", "20")));
+		assertEquals(List.of(), matched(listing("Road bike", "Aluminium", "Sports", "300")));
+	}
+
+	// A search with a keyword is only filed under the term, so its category and price
+	// are checked rather than used to find it
+	@Test
+	void keywordAnchorStillChecksCategoryAndPrice() {
+		matcher.add(1L, 10L, "desk", "Furniture", new BigDecimal("20"), new BigDecimal("100"));
+
+		assertEquals(List.of(1L), matched(listing("Oak desk", null, "furniture", "50")));
+		assertEquals(List.of(), matched(listing("Oak desk", null, "Office", "50")));
+		assertEquals(List.of(), matched(listing("Oak desk", null, "Furniture", "150")));
+		assertEquals(List.of(), matched(listing("Oak chair", null, "Furniture", "50")));
+	}
+
+	@Test
+	void categorySearchIsFoundByCategory() {
+		matcher.add(1L, 10L, null, "Books", null, new BigDecimal("30"));
+
+		assertEquals(List.of(1L), matched(listing("Calculus", "Eighth edition", "BOOKS", "25")));
+		assertEquals(List.of(), matched(listing("Calculus", "Eighth edition", "Books", "45")));
+		assertEquals(List.of(), matched(listing("Calculus", "Eighth edition", "Electronics", "25")));
+	}
+
+	// With neither keyword nor category the search is filed under its minimum price,
+	// or zero when it has none
+	@Test
+	void priceOnlySearchIsFoundByMinimumPrice() {
+		matcher.add(1L, 10L, "", null, new BigDecimal("50"), null);
+		matcher.add(2L, 20L, null, " ", null, new BigDecimal("10"));
+
+		assertEquals(List.of(1L), matched(listing("Monitor", null, "Electronics", "60")));
+		assertEquals(List.of(2L), matched(listing("Pencil", null, "Supplies", "5")));
+		assertEquals(List.of(), matched(listing("Keyboard", null, "Electronics", "40")));
+		assertEquals(List.of(), matched(listing("Free couch", null, "Furniture", null)));
+	}
+
+	@Test
+	void readdingMovesSearchToItsNewAnchor() {
+		matcher.add(1L, 10L, "bike", null, null, null);
+		matcher.add(1L, 10L, null, "Furniture", null, null);
+
+		assertEquals(1, matcher.size());
+		assertEquals(List.of(), matched(listing("Bike", null, "Sports", "100")));
+		assertEquals(List.of(1L), matched(listing("Chair", null, "Furniture", "10")));
+	}
+
+	@Test
+	void removingOneSearchKeepsOthersOnTheSameAnchor() {
+		matcher.add(1L, 10L, "guitar", null, null, null);
+		matcher.add(2L, 20L, "acoustic guitar", null, null, null);
+		matcher.remove(1L);
+
+		assertEquals(1, matcher.size());
+		assertEquals(List.of(2L), matched(listing("Acoustic guitar", null, "Music", "80")));
+	}
+
+	@Test
+	void stopWordKeywordIsNotIndexed() {
+		matcher.add(1L, 10L, "the and of", null, null, null);
+
+		assertEquals(0, matcher.size());
+		assertEquals(List.of(), matched(listing("The best of the year", null, "Books", "5")));
+	}
+
+	private List<Long> matched(Listing listing) {
+		return matcher.match(listing).stream()
+				.map(pair -> pair[0])
+				.sorted()
+				.collect(Collectors.toList());
+	}
+
+	private static Listing listing(String title, String description, String category, String price) {
+		Listing listing = new Listing();
+		listing.setTitle(title);
+		listing.setDescription(description);
+		listing.setCategory(category);
+		listing.setPrice(price != null ? new BigDecimal(price) : null);
+		return listing;
+	}
+}
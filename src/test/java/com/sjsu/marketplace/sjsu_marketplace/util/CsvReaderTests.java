@@ -0,0 +1,77 @@
+package com.sjsu.marketplace.sjsu_marketplace.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class CsvReaderTests {
+
+	@Test
+	void splitsPlainFieldsAndLineEndings() throws IOException {
+		assertEquals(List.of(
+				List.of("title", "price"),
+				List.of("Lamp", "12.50"),
+				List.of("Chair", "")),
+				readAll("title,price\r\nLamp,12.50\nChair,"));
+	}
+
+	@Test
+	void quotedFieldsKeepCommasAndLineBreaks() throws IOException {
+		assertEquals(List.of(
+				List.of("Desk, oak", "Two drawers\nand a shelf", "40")),
+				readAll("\"Desk, oak\",\"Two drawers\nand a shelf\",40\n"));
+	}
+
+	@Test
+	void doubledQuotesAreEscapedQuotes() throws IOException {
+		assertEquals(List.of(
+				List.of("27\" monitor", "\"", "")),
+				readAll("\"27\"\" monitor\",\"\"\"\",\"\""));
+	}
+
+	// A quote only opens a quoted field at its start
+	@Test
+	void quoteInsideUnquotedFieldIsLiteral() throws IOException {
+		assertEquals(List.of(List.of("27\" monitor", "x")), readAll("27\" monitor,x"));
+	}
+
+	@Test
+	void blankLineIsOneEmptyField() throws IOException {
+		assertEquals(List.of(List.of("a"), List.of(""), List.of("b")), readAll("a\n\nb\n"));
+	}
+
+	@Test
+	void emptyInputHasNoRecords() throws IOException {
+		assertNull(new CsvReader(new StringReader("")).readRecord());
+	}
+
+	@Test
+	void unterminatedQuoteIsRejected() throws IOException {
+		CsvReader csv = new CsvReader(new StringReader("ok,1\n\"never closed,2\n"));
+		assertEquals(List.of("ok", "1"), csv.readRecord());
+		assertThrows(IOException.class, csv::readRecord);
+	}
+
+	@Test
+	void overlongRecordIsRejected() {
+		String field = "x".repeat((1 << 20) + 1);
+		assertThrows(IOException.class, () -> new CsvReader(new StringReader(field)).readRecord());
+	}
+
+	private static List<List<String>> readAll(String input) throws IOException {
+		CsvReader csv = new CsvReader(new StringReader(input));
+		List<List<String>> records = new ArrayList<>();
+		List<String> record;
+		while ((record = csv.readRecord()) != null) {
+			records.add(record);
+		}
+		return records;
+	}
+}
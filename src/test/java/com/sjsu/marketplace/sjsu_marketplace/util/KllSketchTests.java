@@ -0,0 +1,102 @@
+package com.sjsu.marketplace.sjsu_marketplace.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class KllSketchTests {
+
+	private static final int K = 200;
+	private static final int N = 100_000;
+	// Compaction is randomized; three times the typical rank error keeps this from flaking
+	private static final double MAX_RANK_ERROR = 3 * 1.65 / K;
+
+	@Test
+	void quantilesStayWithinRankErrorBound() {
+		KllSketch sketch = new KllSketch(K);
+		for (double value : shuffledRange(N, 1)) {
+			sketch.update(value);
+		}
+
+		assertEquals(N, sketch.getCount());
+		assertQuantilesWithinBound(sketch);
+	}
+
+	@Test
+	void mergedSketchesStayWithinRankErrorBound() {
+		KllSketch merged = new KllSketch(K);
+		List<Double> values = shuffledRange(N, 2);
+		for (int part = 0; part < 4; part++) {
+			KllSketch sketch = new KllSketch(K);
+			for (double value : values.subList(part * N / 4, (part + 1) * N / 4)) {
+				sketch.update(value);
+			}
+			merged.merge(sketch);
+		}
+
+		assertEquals(N, merged.getCount());
+		assertQuantilesWithinBound(merged);
+	}
+
+	@Test
+	void smallInputsAreExact() {
+		KllSketch sketch = new KllSketch(K);
+		for (double value : shuffledRange(100, 3)) {
+			sketch.update(value);
+		}
+
+		assertEquals(0.0, sketch.quantile(0));
+		assertEquals(49.0, sketch.quantile(0.5));
+		assertEquals(99.0, sketch.quantile(1));
+	}
+
+	@Test
+	void emptySketchHasNoQuantile() {
+		KllSketch sketch = new KllSketch(K);
+		sketch.update(Double.NaN);
+
+		assertTrue(sketch.isEmpty());
+		assertTrue(Double.isNaN(sketch.quantile(0.5)));
+	}
+
+	// Values are stored as floats, which is exact for these integers
+	@Test
+	void bytesRoundTripKeepsQuantiles() {
+		KllSketch sketch = new KllSketch(K);
+		for (double value : shuffledRange(N, 4)) {
+			sketch.update(value);
+		}
+
+		KllSketch copy = KllSketch.fromBytes(sketch.toBytes());
+
+		assertEquals(sketch.getK(), copy.getK());
+		assertEquals(sketch.getCount(), copy.getCount());
+		for (double fraction = 0; fraction <= 1; fraction += 0.05) {
+			assertEquals(sketch.quantile(fraction), copy.quantile(fraction));
+		}
+	}
+
+	// Over 0..N-1 the true rank of a value is the value itself
+	private static void assertQuantilesWithinBound(KllSketch sketch) {
+		for (double fraction = 0.01; fraction < 1; fraction += 0.01) {
+			double rank = sketch.quantile(fraction) / N;
+			assertTrue(Math.abs(rank - fraction) <= MAX_RANK_ERROR,
+					"quantile(" + fraction + ") had rank " + rank);
+		}
+	}
+
+	private static List<Double> shuffledRange(int n, long seed) {
+		List<Double> values = new ArrayList<>(n);
+		for (int i = 0; i < n; i++) {
+			values.add((double) i);
+		}
+		Collections.shuffle(values, new Random(seed));
+		return values;
+	}
+}